@@ -0,0 +1,145 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Owner booking listings by state: the keyset page and the full listing filtered in SQL against
+ * the former implementation, which loaded every booking of the owner and filtered them in Java.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookingStateBenchmark {
+
+    private static final String OWNER_BOOKINGS = "SELECT b FROM Booking b " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) " +
+            "ORDER BY b.start desc";
+    private static final String OWNER_BOOKINGS_BY_STATUS = "SELECT b FROM Booking b " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) " +
+            "AND b.status IN :statuses " +
+            "ORDER BY b.start desc";
+
+    @Param({"100000"})
+    private int bookingCount;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private String state;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private BookingMapper bookingMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bookings");
+        bookingService = context.getBean(BookingService.class);
+        bookingMapper = context.getBean(BookingMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        DatasetGenerator generator = new DatasetGenerator(context.getBean(JdbcTemplate.class));
+        List<Long> owners = generator.createUsers("owner", 2);
+        List<Long> bookers = generator.createUsers("booker", 100);
+        ownerId = owners.get(0);
+        generator.createBookings(generator.createItems(List.of(ownerId), 500), bookers, bookingCount,
+                LocalDateTime.now());
+        generator.createBookings(generator.createItems(List.of(owners.get(1)), 500), bookers, bookingCount,
+                LocalDateTime.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> ownerBookingsPage() {
+        return bookingService.getAllBookingsForUserItems(ownerId, state, null, pageSize);
+    }
+
+    @Benchmark
+    public List<BookingDto> ownerBookingsAll() {
+        return bookingService.getAllBookingsForUserItems(ownerId, state, null, null);
+    }
+
+    @Benchmark
+    public List<BookingDto> ownerBookingsFilteredInMemory() {
+        return readOnlyTransaction.execute(status -> {
+            LocalDateTime dateTime = LocalDateTime.now();
+            switch (state) {
+                case "CURRENT":
+                    return filter(findOwnerBookings(null), booking -> booking.getStart().isBefore(dateTime)
+                            && booking.getEnd().isAfter(dateTime));
+                case "PAST":
+                    return filter(findOwnerBookings(List.of(Status.APPROVED)),
+                            booking -> booking.getEnd().isBefore(dateTime));
+                case "FUTURE":
+                    return filter(findOwnerBookings(List.of(Status.APPROVED, Status.WAITING)),
+                            booking -> booking.getStart().isAfter(dateTime));
+                case "WAITING":
+                    return filter(findOwnerBookings(List.of(Status.WAITING)), booking -> true);
+                case "REJECTED":
+                    return filter(findOwnerBookings(List.of(Status.REJECTED)), booking -> true);
+                default:
+                    return filter(findOwnerBookings(null), booking -> true);
+            }
+        });
+    }
+
+    private List<Booking> findOwnerBookings(List<Status> statuses) {
+        if (statuses == null) {
+            return entityManager.createQuery(OWNER_BOOKINGS, Booking.class)
+                    .setParameter("ownerId", ownerId)
+                    .getResultList();
+        }
+        return entityManager.createQuery(OWNER_BOOKINGS_BY_STATUS, Booking.class)
+                .setParameter("ownerId", ownerId)
+                .setParameter("statuses", statuses)
+                .getResultList();
+    }
+
+    private List<BookingDto> filter(List<Booking> bookings, Predicate<Booking> predicate) {
+        return bookings.stream()
+                .filter(predicate)
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Price of {@code server.compression} for a list of owner bookings: {@code gzip} is what Tomcat does to a response
+ * (default level), {@code gunzip} what the receiving HTTP client does. The sizes on the wire with and without
+ * compression are printed once per payload size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int bookingCount;
+
+    private byte[] json;
+    private byte[] gzipped;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = new ObjectMapper().writeValueAsBytes(bookings());
+        gzipped = gzip();
+        System.out.printf("%n%d bookings: %d bytes as JSON, %d bytes gzipped (%.1f%%)%n", bookingCount,
+                json.length, gzipped.length, 100.0 * gzipped.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] gunzip() throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private List<Map<String, Object>> bookings() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> bookings = new ArrayList<>();
+        for (long i = 1; i <= bookingCount; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "item " + i);
+
+            Map<String, Object> booker = new LinkedHashMap<>();
+            booker.put("id", i + 1);
+
+            Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", i);
+            booking.put("start", now.plusDays(i).toString());
+            booking.put("end", now.plusDays(i + 1).toString());
+            booking.put("status", "APPROVED");
+            booking.put("booker", booker);
+            booking.put("item", item);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
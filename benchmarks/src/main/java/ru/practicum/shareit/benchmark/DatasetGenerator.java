@@ -0,0 +1,109 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the benchmark database through plain JDBC batches, which is much faster than going through the services.
+ * The generated data is deterministic for the same seed.
+ */
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] WORDS = {
+        "drill", "hammer", "saw", "ladder", "tent", "bike", "kayak", "camera", "tripod", "projector",
+        "speaker", "guitar", "blender", "mixer", "vacuum", "heater", "fan", "lamp", "table", "chair",
+        "cordless", "electric", "portable", "compact", "heavy", "light", "old", "new", "red", "black",
+        "garden", "kitchen", "travel", "winter", "summer", "kids", "pro", "mini", "large", "steel"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, new Random(42));
+    }
+
+    public List<Long> createUsers(String prefix, int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{prefix + i, prefix + i + "@benchmark.ru"});
+        }
+        insert("INSERT INTO users (name, email) VALUES (?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id", Long.class,
+                prefix + "%@benchmark.ru");
+    }
+
+    public List<Long> createItems(List<Long> ownerIds, int count) {
+        long firstId = nextId("items");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{phrase(2), phrase(8), random.nextInt(5) != 0, ownerIds.get(i % ownerIds.size())});
+        }
+        insert("INSERT INTO items (name, description, is_available, owner_id) VALUES (?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM items WHERE id >= ? ORDER BY id", Long.class, firstId);
+    }
+
+    /**
+     * Bookings start from a year ago to a year ahead of {@code now}, so every state has matching rows.
+     * Rows are inserted batch by batch, ten million of them do not fit in the heap at once.
+     */
+    public void createBookings(List<Long> itemIds, List<Long> bookerIds, int count, LocalDateTime now) {
+        Status[] statuses = Status.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = now.minusDays(365).plusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(end),
+                    itemIds.get(random.nextInt(itemIds.size())), bookerIds.get(random.nextInt(bookerIds.size())),
+                    statuses[random.nextInt(statuses.length)].name()});
+            if (rows.size() == BATCH_SIZE || i == count - 1) {
+                insert("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    public void createComments(List<Long> itemIds, List<Long> authorIds, int perItem, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            for (int i = 0; i < perItem; i++) {
+                rows.add(new Object[]{phrase(6), itemId, authorIds.get(random.nextInt(authorIds.size())),
+                        Timestamp.valueOf(now.minusDays(random.nextInt(365)))});
+            }
+        }
+        insert("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    public String phrase(int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId != null ? maxId + 1 : 0;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
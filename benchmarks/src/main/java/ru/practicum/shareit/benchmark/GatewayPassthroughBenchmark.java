@@ -0,0 +1,219 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.clients.BaseClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One gateway hop for a list of owner bookings: the server answer is replayed from memory and the gateway
+ * answer is written to a discarding stream, so only the gateway's own work is measured. Run with
+ * {@code -Djmh.args="GatewayPassthrough -prof gc"}: {@code gc.alloc.rate.norm} is the allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayPassthroughBenchmark {
+
+    private static final String PATH = "http://localhost/bookings/owner?state=ALL";
+
+    @Param({"10", "100", "1000"})
+    private int bookingCount;
+
+    private final MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter();
+    private final ByteArrayHttpMessageConverter byteConverter = new ByteArrayHttpMessageConverter();
+    private RestTemplate rest;
+    private PassthroughClient passthroughClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        // no application context is started here, so nothing else lowers the default DEBUG level
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+
+        byte[] serverResponse = new ObjectMapper().writeValueAsBytes(bookings());
+        rest = new RestTemplate(replaying(serverResponse));
+        passthroughClient = new PassthroughClient(rest);
+    }
+
+    /**
+     * The way the gateway worked before: the body is parsed into maps and lists and serialized back.
+     */
+    @Benchmark
+    public ResponseEntity<Object> objectTree() throws IOException {
+        ResponseEntity<Object> response = rest.exchange(PATH, HttpMethod.GET, new HttpEntity<>(headers()),
+                Object.class);
+        jsonConverter.write(response.getBody(), MediaType.APPLICATION_JSON, new DiscardingOutputMessage());
+        return response;
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> bytePassthrough() throws IOException {
+        ResponseEntity<Object> response = passthroughClient.getOwnerBookings();
+        byteConverter.write((byte[]) response.getBody(), response.getHeaders().getContentType(),
+                new DiscardingOutputMessage());
+        return response;
+    }
+
+    private List<Map<String, Object>> bookings() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> bookings = new ArrayList<>();
+        for (long i = 1; i <= bookingCount; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "item " + i);
+
+            Map<String, Object> booker = new LinkedHashMap<>();
+            booker.put("id", i + 1);
+
+            Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", i);
+            booking.put("start", now.plusDays(i).toString());
+            booking.put("end", now.plusDays(i + 1).toString());
+            booking.put("status", "APPROVED");
+            booking.put("booker", booker);
+            booking.put("item", item);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "1");
+        return headers;
+    }
+
+    private static ClientHttpRequestFactory replaying(byte[] body) {
+        return (URI uri, HttpMethod method) -> new AbstractClientHttpRequest() {
+            @Override
+            protected OutputStream getBodyInternal(HttpHeaders headers) {
+                return OutputStream.nullOutputStream();
+            }
+
+            @Override
+            protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+                return new ReplayedResponse(body);
+            }
+
+            @Override
+            public String getMethodValue() {
+                return method.name();
+            }
+
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+        };
+    }
+
+    private static class PassthroughClient extends BaseClient {
+
+        PassthroughClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        ResponseEntity<Object> getOwnerBookings() {
+            return get(PATH, 1L, null);
+        }
+    }
+
+    private static class ReplayedResponse implements ClientHttpResponse {
+
+        private final byte[] body;
+
+        ReplayedResponse(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+            return headers;
+        }
+    }
+
+    private static class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
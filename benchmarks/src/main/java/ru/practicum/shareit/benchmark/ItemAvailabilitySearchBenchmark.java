@@ -0,0 +1,116 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search for items free in a period against what clients did before: plain search pages followed by
+ * an availability check of every item on them. Run with {@code -p itemCount=1000000 -p bookingCount=10000000}
+ * for the full-size catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ItemAvailabilitySearchBenchmark {
+
+    @Param({"100000"})
+    private int itemCount;
+
+    @Param({"1000000"})
+    private int bookingCount;
+
+    @Param({"like", "memory"})
+    private String engine;
+
+    @Param({"drill", "cordless", "kayak tripod"})
+    private String text;
+
+    @Param({"8", "72"})
+    private int periodHours;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemSearchEngine itemSearchEngine;
+    private BookingRepository bookingRepository;
+    private PageRequest pageRequest;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("availability-search", "shareit.search.engine=" + engine);
+        itemSearchEngine = context.getBean(ItemSearchEngine.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        pageRequest = PageRequest.of(0, pageSize);
+
+        LocalDateTime now = LocalDateTime.now();
+        start = now.plusDays(7).truncatedTo(ChronoUnit.DAYS).plusHours(10);
+        end = start.plusHours(periodHours);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        DatasetGenerator generator = new DatasetGenerator(jdbcTemplate);
+        List<Long> items = generator.createItems(generator.createUsers("owner", 100), itemCount);
+        generator.createBookings(items, generator.createUsers("booker", 1000), bookingCount, now);
+        jdbcTemplate.execute("ANALYZE");
+        if (itemSearchEngine instanceof InMemoryItemSearchEngine) {
+            ((InMemoryItemSearchEngine) itemSearchEngine).rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> searchNotBooked() {
+        return itemSearchEngine.search(text, start, end, pageRequest);
+    }
+
+    @Benchmark
+    public List<Item> searchThenCheckEachItem() {
+        List<Item> free = new ArrayList<>();
+        for (int page = 0; free.size() < pageSize; page++) {
+            List<Item> items = itemSearchEngine.search(text, PageRequest.of(page, pageSize));
+            for (Item item : items) {
+                if (free.size() < pageSize
+                        && !bookingRepository.existsApprovedBookingsByItemIdBetween(item.getId(), start, end)) {
+                    free.add(item);
+                }
+            }
+            if (items.size() < pageSize) {
+                break;
+            }
+        }
+        return free;
+    }
+}
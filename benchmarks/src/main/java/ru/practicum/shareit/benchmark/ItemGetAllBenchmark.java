@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owner item listing with last/next bookings and comments of every item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemGetAllBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int itemCount;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    @Param({"2"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("items");
+        itemService = context.getBean(ItemService.class);
+
+        DatasetGenerator generator = new DatasetGenerator(context.getBean(JdbcTemplate.class));
+        LocalDateTime now = LocalDateTime.now();
+        ownerId = generator.createUsers("owner", 1).get(0);
+        List<Long> bookers = generator.createUsers("booker", 20);
+        List<Long> items = generator.createItems(List.of(ownerId), itemCount);
+        generator.createBookings(items, bookers, itemCount * bookingsPerItem, now);
+        generator.createComments(items, bookers, commentsPerItem, now);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> getAll() {
+        return itemService.getAll(ownerId);
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search engines on the same catalogue, bypassing the result cache. The trgm engine needs PostgreSQL
+ * and is not covered here. Run with {@code -p itemCount=1000000} for the full-size catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+
+    @Param({"100000"})
+    private int itemCount;
+
+    @Param({"like", "memory"})
+    private String engine;
+
+    @Param({"dr", "cordless", "kayak tripod", "missing"})
+    private String text;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemSearchEngine itemSearchEngine;
+    private PageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("search", "shareit.search.engine=" + engine);
+        itemSearchEngine = context.getBean(ItemSearchEngine.class);
+        pageRequest = PageRequest.of(0, pageSize);
+
+        DatasetGenerator generator = new DatasetGenerator(context.getBean(JdbcTemplate.class));
+        generator.createItems(generator.createUsers("owner", 100), itemCount);
+        if (itemSearchEngine instanceof InMemoryItemSearchEngine) {
+            ((InMemoryItemSearchEngine) itemSearchEngine).rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        return itemSearchEngine.search(text, pageRequest);
+    }
+}
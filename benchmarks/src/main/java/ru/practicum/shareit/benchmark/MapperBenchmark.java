@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingWithBookerIdDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions of detached entities, no database access is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"0", "10"})
+    private int commentCount;
+
+    private ConfigurableApplicationContext context;
+    private BookingMapper bookingMapper;
+    private ItemMapper itemMapper;
+    private Booking booking;
+    private Item item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("mappers");
+        bookingMapper = context.getBean(BookingMapper.class);
+        itemMapper = context.getBean(ItemMapper.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@benchmark.ru");
+        User booker = new User(2L, "booker", "booker@benchmark.ru");
+        List<Comment> comments = new ArrayList<>();
+        item = new Item(1L, "drill", "cordless drill", true, owner, null, comments);
+        for (long i = 0; i < commentCount; i++) {
+            comments.add(new Comment(i, "comment " + i, item, booker, now));
+        }
+        booking = new Booking(1L, now.plusDays(1), now.plusDays(2), item, booker, Status.APPROVED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingDto toBookingDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingWithBookerIdDto toBookingWithBookerIdDto() {
+        return bookingMapper.toBookingWithBookerIdDto(booking);
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemDto toItemDtoWithoutComments() {
+        return itemMapper.toItemDtoWithoutComments(item);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.page.PageRequestHandler;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageRequestHandlerBenchmark {
+
+    private final Sort sort = Sort.by(Sort.Direction.DESC, "created");
+    private Integer from = 20;
+    private Integer size = 10;
+
+    @Benchmark
+    public PageRequest pageRequest() {
+        return PageRequestHandler.getPageRequest(from, size, sort);
+    }
+
+    @Benchmark
+    public PageRequest unpagedRequest() {
+        return PageRequestHandler.getPageRequest(null, null, sort);
+    }
+
+    @Benchmark
+    public PageRequest seekPageRequest() {
+        return PageRequestHandler.getSeekPageRequest(size);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.config.RateLimitProperties;
+import ru.practicum.ratelimit.RateLimiter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the gateway rate limiter adds to a request: bucket lookup and one token taken with a compare-and-set.
+ * {@code oneUser} is the worst case for contention, all threads take tokens from the same bucket;
+ * {@code manyUsers} spreads them over {@code users} buckets. Limits are set so high that every request passes,
+ * a rejected request does the same work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    @Param({"1000", "100000"})
+    private int users;
+
+    private RateLimiter rateLimiter;
+    private Long[] userIds;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(Integer.MAX_VALUE);
+        properties.getDefaultLimit().setPerSecond(1_000_000_000);
+        properties.setMaxUsers(users);
+        rateLimiter = new RateLimiter(properties);
+
+        userIds = new Long[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = i + 1L;
+            rateLimiter.tryAcquire("items", userIds[i]);
+        }
+    }
+
+    @Benchmark
+    public long oneUser() {
+        return rateLimiter.tryAcquire("items", userIds[0]);
+    }
+
+    @Benchmark
+    public long manyUsers() {
+        return rateLimiter.tryAcquire("items", userIds[ThreadLocalRandom.current().nextInt(users)]);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingWithBookerIdDto;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against Smile for the server's booking and item lists, with the mappers configured as the HTTP message
+ * converters: {@code write*} is the server encoding an answer, {@code read*} a receiver parsing it and
+ * {@code smileToJson} what the gateway would have to do to pass a Smile answer on to a JSON client.
+ * The sizes of both encodings are printed once per list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"bookings", "items"})
+    private String list;
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.json()
+            .factory(new SmileFactory())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private List<?> dtos;
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dtos = "bookings".equals(list) ? bookings() : items();
+        json = jsonMapper.writeValueAsBytes(dtos);
+        smile = smileMapper.writeValueAsBytes(dtos);
+        System.out.printf("%n%d %s: %d bytes as JSON, %d bytes as Smile (%.1f%%)%n", size, list, json.length,
+                smile.length, 100.0 * smile.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] writeSmile() throws IOException {
+        return smileMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public JsonNode readJson() throws IOException {
+        return jsonMapper.readTree(json);
+    }
+
+    @Benchmark
+    public JsonNode readSmile() throws IOException {
+        return smileMapper.readTree(smile);
+    }
+
+    @Benchmark
+    public byte[] smileToJson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = smileMapper.getFactory().createParser(smile);
+             JsonGenerator generator = jsonMapper.getFactory().createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private List<BookingDto> bookings() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDto> bookings = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            ItemDto item = new ItemDto(i, "item " + i, "description of item " + i, true, null);
+            UserDto booker = new UserDto(i + 1, "booker " + i, "booker" + i + "@benchmark.ru");
+            bookings.add(new BookingDto(i, now.plusDays(i), now.plusDays(i + 1), item, booker, Status.APPROVED));
+        }
+        return bookings;
+    }
+
+    private List<ItemDto> items() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemDto> items = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            List<CommentDto> comments = new ArrayList<>();
+            for (long c = 1; c <= 3; c++) {
+                comments.add(new CommentDto(c, "comment " + c + " on item " + i, "author " + c, now.minusDays(c)));
+            }
+            ItemDto item = new ItemDto(i, "item " + i, "description of item " + i, true, comments);
+            item.setLastBooking(new BookingWithBookerIdDto(i, i + 1, now.minusDays(2), now.minusDays(1)));
+            item.setNextBooking(new BookingWithBookerIdDto(i + 1, i + 2, now.plusDays(1), now.plusDays(2)));
+            items.add(item);
+        }
+        return items;
+    }
+}
@@ -3,9 +3,11 @@ package ru.practicum.clients;
 import java.util.List;
 import java.util.Map;
 
+import lombok.Data;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -16,9 +18,33 @@ public class BaseClient {
 
     protected final RestTemplate rest;
     private static final String REQ_HEADER = "X-Sharer-User-Id";
+    @Nullable
+    protected final ResponseCache responseCache;
+    @Nullable
+    private final SingleFlight singleFlight;
+    @Nullable
+    private final UpstreamPolicy upstreamPolicy;
+    private final MediaType wireFormat;
+    private final String apiPrefix;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null, null, MediaType.APPLICATION_JSON, "");
+    }
+
+    /**
+     * @param wireFormat content type of request bodies; answers are always requested as JSON, they are passed on
+     *                   to the caller as they are
+     * @param apiPrefix  path of the client on the server, the cache and single-flight keys are full server paths;
+     *                   without the slash it names the resilience4j instances of the client, e.g. {@code items}
+     */
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache, @Nullable SingleFlight singleFlight,
+                      @Nullable UpstreamPolicy upstreamPolicy, MediaType wireFormat, String apiPrefix) {
         this.rest = rest;
+        this.responseCache = responseCache;
+        this.singleFlight = singleFlight;
+        this.upstreamPolicy = upstreamPolicy;
+        this.wireFormat = wireFormat;
+        this.apiPrefix = apiPrefix;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -33,6 +59,67 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * GET through the response cache. {@code perUser} keys the response by the caller as well,
+     * for resources whose representation depends on who asks.
+     */
+    protected ResponseEntity<Object> getCached(String path, long userId, boolean perUser) {
+        if (responseCache == null || !responseCache.isEnabled()) {
+            return get(path, userId);
+        }
+
+        String key = apiPrefix + path;
+        Long keyUserId = perUser ? userId : null;
+        ResponseCache.CachedResponse cached = responseCache.get(key, keyUserId);
+        if (cached != null && responseCache.isFresh(cached)) {
+            return cached.toResponse();
+        }
+
+        long generation = responseCache.generation();
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null && cached.getEtag() != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = exchange(HttpMethod.GET, path, new HttpEntity<>(headers), null);
+        } catch (HttpStatusCodeException e) {
+            responseCache.evict(key);
+            return prepareErrorResponse(e);
+        }
+
+        if (shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            ResponseCache.CachedResponse revalidated = cached.revalidated();
+            responseCache.put(key, keyUserId, revalidated, generation);
+            return revalidated.toResponse();
+        }
+        if (shareitServerResponse.getStatusCode() == HttpStatus.OK && shareitServerResponse.hasBody()) {
+            responseCache.put(key, keyUserId, new ResponseCache.CachedResponse(shareitServerResponse.getBody(),
+                    shareitServerResponse.getHeaders().getContentType(),
+                    shareitServerResponse.getHeaders().getETag()), generation);
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    protected void evictCached(String path) {
+        if (responseCache != null) {
+            responseCache.evict(path);
+        }
+    }
+
+    protected void evictAllCached(String prefix) {
+        if (responseCache != null) {
+            responseCache.evictAll(prefix);
+        }
+    }
+
+    protected void invalidateCached() {
+        if (responseCache != null) {
+            responseCache.invalidateAll();
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -81,30 +168,66 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * The server response is relayed as raw bytes with its status and content type: the gateway does not parse
+     * the body only to serialize it again.
+     */
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            shareitServerResponse = exchange(method, path, requestEntity, parameters);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity
-                    .status(e.getStatusCode())
-                    .header("Content-Type", "application/json")
-                    .body(e.getResponseBodyAsByteArray());
+            return prepareErrorResponse(e);
         }
 
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    /**
+     * Concurrent GETs with the same path, parameters and headers share one call to the server.
+     */
+    private <T> ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpEntity<T> requestEntity,
+                                                @Nullable Map<String, Object> parameters) {
+        if (method != HttpMethod.GET || singleFlight == null) {
+            return send(method, path, requestEntity, parameters);
+        }
+
+        HttpHeaders headers = requestEntity.getHeaders();
+        RequestKey key = new RequestKey(apiPrefix + path, parameters, headers.getFirst(REQ_HEADER),
+                headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+        return singleFlight.execute(key, () -> send(method, path, requestEntity, parameters));
+    }
+
+    private <T> ResponseEntity<byte[]> send(HttpMethod method, String path, HttpEntity<T> requestEntity,
+                                            @Nullable Map<String, Object> parameters) {
+        if (upstreamPolicy == null) {
+            return doSend(method, path, requestEntity, parameters);
+        }
+        return upstreamPolicy.execute(apiPrefix.substring(1), method,
+                () -> doSend(method, path, requestEntity, parameters));
+    }
+
+    private <T> ResponseEntity<byte[]> doSend(HttpMethod method, String path, HttpEntity<T> requestEntity,
+                                              @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, byte[].class, parameters);
+        }
+        return rest.exchange(path, method, requestEntity, byte[].class);
+    }
+
+    private static ResponseEntity<Object> prepareErrorResponse(HttpStatusCodeException e) {
+        return ResponseEntity
+                .status(e.getStatusCode())
+                .header("Content-Type", "application/json")
+                .body(e.getResponseBodyAsByteArray());
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentType(wireFormat);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
 
         if (userId != null) {
@@ -114,12 +237,13 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        // the server's headers are not copied: Transfer-Encoding describes its connection, not ours
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -127,4 +251,12 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    @Data
+    private static class RequestKey {
+        private final String path;
+        private final Map<String, Object> parameters;
+        private final String userId;
+        private final String ifNoneMatch;
+    }
+}
@@ -2,32 +2,60 @@ package ru.practicum.clients;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.dto.BookingApprovalDto;
 import ru.practicum.dto.BookingInDto;
 import ru.practicum.dto.State;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                         SingleFlight singleFlight, UpstreamPolicy upstreamPolicy,
+                         @Value("${shareit-server.wire-format}") MediaType wireFormat) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .requestFactory(() -> requestFactory)
+                .build(),
+                responseCache, singleFlight, upstreamPolicy, wireFormat, API_PREFIX
         );
     }
 
     public ResponseEntity<Object> create(BookingInDto requestDto, long userId) {
-        return post("", userId, requestDto);
+        ResponseEntity<Object> response = post("", userId, requestDto);
+        evictCached("/items/" + requestDto.getItemId());
+        return response;
+    }
+
+    public ResponseEntity<Object> createAll(List<BookingInDto> requestDtos, long userId) {
+        ResponseEntity<Object> response = post("/batch", userId, requestDtos);
+        requestDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingInDto::getItemId)
+                .distinct()
+                .forEach(itemId -> evictCached("/items/" + itemId));
+        return response;
+    }
+
+    public ResponseEntity<Object> updateStatuses(Long userId, List<BookingApprovalDto> approvals) {
+        ResponseEntity<Object> response = patch("/batch", userId, approvals);
+        evictAllCached("/items/");
+        return response;
     }
 
     public ResponseEntity<Object> updateStatus(Long userId, Boolean approved, Long bookingId) {
@@ -39,32 +67,47 @@ public class BookingClient extends BaseClient {
             sb.append("?approved={approved}");
         }
 
-        return patch("/" + bookingId + sb, userId, parameters, null);
+        ResponseEntity<Object> response = patch("/" + bookingId + sb, userId, parameters, null);
+        // the item of the booking is not known here; approvals change the last and the next booking of items
+        evictAllCached("/items/");
+        return response;
     }
 
     public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllBookingByUserId(Long userId, State state) {
+    public ResponseEntity<Object> getAllBookingByUserId(Long userId, State state, Long cursor, Integer size) {
         StringBuilder sb = new StringBuilder();
         Map<String, Object> parameters = new HashMap<>();
 
-        if (state != null) {
-            parameters.put("state", state);
-            sb.append("state={state}&");
-        }
+        appendListingParameters(sb, parameters, state, cursor, size);
         return get("?" + sb, userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingForUserItems(Long userId, State state) {
+    public ResponseEntity<Object> getBookingForUserItems(Long userId, State state, Long cursor, Integer size) {
         StringBuilder sb = new StringBuilder();
         Map<String, Object> parameters = new HashMap<>();
 
+        appendListingParameters(sb, parameters, state, cursor, size);
+        return get("/owner?" + sb, userId, parameters);
+    }
+
+    private void appendListingParameters(StringBuilder sb, Map<String, Object> parameters, State state, Long cursor,
+                                         Integer size) {
         if (state != null) {
             parameters.put("state", state);
             sb.append("state={state}&");
         }
-        return get("/owner?" + sb, userId, parameters);
+
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            sb.append("cursor={cursor}&");
+        }
+
+        if (size != null) {
+            parameters.put("size", size);
+            sb.append("size={size}&");
+        }
     }
-}
\ No newline at end of file
+}
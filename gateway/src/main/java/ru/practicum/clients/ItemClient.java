@@ -2,41 +2,60 @@ package ru.practicum.clients;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.dto.CommentDto;
 import ru.practicum.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                      SingleFlight singleFlight, UpstreamPolicy upstreamPolicy,
+                      @Value("${shareit-server.wire-format}") MediaType wireFormat) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .requestFactory(() -> requestFactory)
+                .build(),
+                responseCache, singleFlight, upstreamPolicy, wireFormat, API_PREFIX
         );
     }
 
     public ResponseEntity<Object> createItem(Long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+        ResponseEntity<Object> response = post("", userId, itemDto);
+        if (itemDto.getRequestId() != null) {
+            evictCached("/requests/" + itemDto.getRequestId());
+        }
+        return response;
     }
 
     public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+        ResponseEntity<Object> response = patch("/" + itemId, userId, itemDto);
+        evictCached(API_PREFIX + "/" + itemId);
+        // a request lists the items made for it
+        evictAllCached("/requests/");
+        return response;
     }
 
+    /**
+     * Cached per user: only the owner sees the last and the next booking.
+     */
     public ResponseEntity<Object> getItem(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+        return getCached("/" + itemId, userId, true);
     }
 
     public ResponseEntity<Object> getAll(Long userId) {
@@ -47,16 +66,43 @@ public class ItemClient extends BaseClient {
         return get("?" + sb, userId, parameters);
     }
 
-    public ResponseEntity<Object> searchForItem(Long userId, String text) {
+    public ResponseEntity<Object> searchForItem(Long userId, String text, LocalDateTime start, LocalDateTime end,
+                                                Integer from, Integer size) {
         StringBuilder sb = new StringBuilder();
 
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("text", text);
 
+        if (start != null) {
+            parameters.put("start", start);
+            parameters.put("end", end);
+            sb.append("start={start}&end={end}&");
+        }
+
+        if (from != null) {
+            parameters.put("from", from);
+            sb.append("from={from}&");
+        }
+
+        if (size != null) {
+            parameters.put("size", size);
+            sb.append("size={size}");
+        }
+
         return get("/search?text={text}&" + sb, userId, parameters);
     }
 
+    /**
+     * Not cached: every booking of the item changes it.
+     */
+    public ResponseEntity<Object> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
     public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        ResponseEntity<Object> response = post("/" + itemId + "/comment", userId, commentDto);
+        evictCached(API_PREFIX + "/" + itemId);
+        return response;
     }
 }
\ No newline at end of file
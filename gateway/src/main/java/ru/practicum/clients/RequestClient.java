@@ -2,9 +2,11 @@ package ru.practicum.clients;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.dto.RequestDto;
@@ -13,16 +15,21 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                         SingleFlight singleFlight, UpstreamPolicy upstreamPolicy,
+                         @Value("${shareit-server.wire-format}") MediaType wireFormat) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .requestFactory(() -> requestFactory)
+                .build(),
+                responseCache, singleFlight, upstreamPolicy, wireFormat, API_PREFIX
         );
     }
 
@@ -52,6 +59,6 @@ public class RequestClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getRequest(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+        return getCached("/" + requestId, userId, true);
     }
 }
\ No newline at end of file
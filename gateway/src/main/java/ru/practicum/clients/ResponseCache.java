@@ -0,0 +1,139 @@
+package ru.practicum.clients;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.config.ResponseCacheProperties;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server responses to GET of a single item, user or request, keyed by the server path and, where the response
+ * depends on the caller, by X-Sharer-User-Id. A fresh response is served as is, an older one is revalidated
+ * with its ETag, so an unchanged resource costs the server a 304 instead of a database read and a body.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+
+    private final Cache<CacheKey, CachedResponse> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final boolean enabled;
+    private final long freshForNanos;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getMaxAge())
+                .recordStats()
+                .build();
+        this.enabled = properties.isEnabled();
+        this.freshForNanos = properties.getFreshFor().toNanos();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gatewayResponses");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Nullable
+    public CachedResponse get(String path, @Nullable Long userId) {
+        return cache.getIfPresent(new CacheKey(path, userId));
+    }
+
+    public boolean isFresh(CachedResponse response) {
+        return System.nanoTime() - response.getFetchedAt() < freshForNanos;
+    }
+
+    /**
+     * Value to pass to {@link #put} for a response requested now.
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches a response unless something was evicted since it was requested: it may then describe the state
+     * before the write.
+     */
+    public void put(String path, @Nullable Long userId, CachedResponse response, long generation) {
+        if (generation == invalidations.get()) {
+            cache.put(new CacheKey(path, userId), response);
+        }
+    }
+
+    /**
+     * Evicts the responses for {@code path} of all users.
+     */
+    public void evict(String path) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.getPath().equals(path));
+        log.debug("Из кэша ответов удален {}", path);
+    }
+
+    /**
+     * Evicts the responses for all paths starting with {@code prefix}, e.g. {@code /items/}.
+     */
+    public void evictAll(String prefix) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.getPath().startsWith(prefix));
+        log.debug("Из кэша ответов удалены все {}*", prefix);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        log.debug("Кэш ответов очищен");
+    }
+
+    @Data
+    private static class CacheKey {
+        private final String path;
+        private final Long userId;
+    }
+
+    @Data
+    public static class CachedResponse {
+        private final byte[] body;
+        private final MediaType contentType;
+        private final String etag;
+        private final long fetchedAt;
+
+        public CachedResponse(byte[] body, @Nullable MediaType contentType, @Nullable String etag) {
+            this(body, contentType, etag, System.nanoTime());
+        }
+
+        private CachedResponse(byte[] body, MediaType contentType, String etag, long fetchedAt) {
+            this.body = body;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.fetchedAt = fetchedAt;
+        }
+
+        /**
+         * The same response confirmed by the server with a 304 just now.
+         */
+        public CachedResponse revalidated() {
+            return new CachedResponse(body, contentType, etag);
+        }
+
+        public ResponseEntity<Object> toResponse() {
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+            if (contentType != null) {
+                responseBuilder.contentType(contentType);
+            }
+            return responseBuilder.body(body);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.clients;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one: the first caller makes the call, callers with an equal key
+ * arriving while it runs wait for its result or its exception instead of making their own.
+ * Only for idempotent calls whose result may be shared between callers.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SingleFlight {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter collapsed;
+
+    public SingleFlight(@Value("${shareit-server.single-flight.enabled:true}") boolean enabled,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.collapsed = Counter.builder("shareit.gateway.requests.collapsed")
+                .description("Запросы к серверу, получившие ответ такого же одновременного запроса")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            collapsed.increment();
+            return (T) await(running);
+        }
+
+        // the key is released before the result is published: a caller that sees the result has to be
+        // concurrent with the call, a later one starts a new call
+        try {
+            T result = call.get();
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.clients;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead, circuit breaker and retry around calls to the server, configured under {@code resilience4j.*}
+ * with one instance of each per client: a slow or failing part of the server takes down only its own endpoints.
+ * Only GETs are retried, a repeated write could be applied twice.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class UpstreamPolicy {
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+
+    public <T> T execute(String instance, HttpMethod method, Supplier<T> call) {
+        // every attempt takes its own bulkhead permit and is recorded by the circuit breaker
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreakerRegistry.circuitBreaker(instance),
+                Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(instance), call));
+        if (method == HttpMethod.GET) {
+            guarded = Retry.decorateSupplier(retryRegistry.retry(instance), guarded);
+        }
+        return guarded.get();
+    }
+}
@@ -2,25 +2,32 @@ package ru.practicum.clients;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.dto.UserDto;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                      SingleFlight singleFlight, UpstreamPolicy upstreamPolicy,
+                      @Value("${shareit-server.wire-format}") MediaType wireFormat) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .requestFactory(() -> requestFactory)
+                .build(),
+                responseCache, singleFlight, upstreamPolicy, wireFormat, API_PREFIX
         );
     }
 
@@ -29,11 +36,14 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> updateUser(Long userId, UserDto userDto) {
-        return patch("/" + userId, userId, userDto);
+        ResponseEntity<Object> response = patch("/" + userId, userId, userDto);
+        // user names are also part of cached items and requests, and user updates are rare
+        invalidateCached();
+        return response;
     }
 
     public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId, userId);
+        return getCached("/" + userId, userId, false);
     }
 
     public ResponseEntity<Object> getAllUsers() {
@@ -41,6 +51,8 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> deleteUser(Long userId) {
-        return delete("/" + userId);
+        ResponseEntity<Object> response = delete("/" + userId);
+        invalidateCached();
+        return response;
     }
 }
\ No newline at end of file
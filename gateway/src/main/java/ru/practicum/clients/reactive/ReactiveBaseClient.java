@@ -0,0 +1,94 @@
+package ru.practicum.clients.reactive;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link ru.practicum.clients.BaseClient}: the server response is relayed
+ * as raw bytes with its status and content type, and no thread waits for it.
+ */
+public class ReactiveBaseClient {
+
+    protected final WebClient webClient;
+    private static final String REQ_HEADER = "X-Sharer-User-Id";
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                    T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                     T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<byte[]>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Collections.emptyMap())
+                .accept(MediaType.APPLICATION_JSON);
+
+        if (userId != null) {
+            request.header(REQ_HEADER, String.valueOf(userId));
+        }
+
+        WebClient.RequestHeadersSpec<?> spec = body != null
+                ? request.contentType(MediaType.APPLICATION_JSON).bodyValue(body)
+                : request;
+        return spec.exchangeToMono(ReactiveBaseClient::prepareGatewayResponse);
+    }
+
+    private static Mono<ResponseEntity<byte[]>> prepareGatewayResponse(ClientResponse response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.rawStatusCode());
+        List<String> contentType = response.headers().header("Content-Type");
+        if (!contentType.isEmpty()) {
+            responseBuilder.header("Content-Type", contentType.get(0));
+        }
+
+        return response.bodyToMono(byte[].class)
+                .map(responseBuilder::body)
+                .defaultIfEmpty(responseBuilder.build());
+    }
+}
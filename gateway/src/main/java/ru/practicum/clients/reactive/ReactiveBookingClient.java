@@ -0,0 +1,93 @@
+package ru.practicum.clients.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.dto.BookingApprovalDto;
+import ru.practicum.dto.BookingInDto;
+import ru.practicum.dto.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(builder.clone()
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build()
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> create(BookingInDto requestDto, long userId) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> createAll(List<BookingInDto> requestDtos, long userId) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateStatuses(Long userId, List<BookingApprovalDto> approvals) {
+        return patch("/batch", userId, approvals);
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateStatus(Long userId, Boolean approved, Long bookingId) {
+        StringBuilder sb = new StringBuilder();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (approved != null) {
+            parameters.put("approved", approved);
+            sb.append("?approved={approved}");
+        }
+
+        return patch("/" + bookingId + sb, userId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBooking(Long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllBookingByUserId(Long userId, State state, Long cursor, Integer size) {
+        StringBuilder sb = new StringBuilder();
+        Map<String, Object> parameters = new HashMap<>();
+
+        appendListingParameters(sb, parameters, state, cursor, size);
+        return get("?" + sb, userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBookingForUserItems(Long userId, State state, Long cursor, Integer size) {
+        StringBuilder sb = new StringBuilder();
+        Map<String, Object> parameters = new HashMap<>();
+
+        appendListingParameters(sb, parameters, state, cursor, size);
+        return get("/owner?" + sb, userId, parameters);
+    }
+
+    private void appendListingParameters(StringBuilder sb, Map<String, Object> parameters, State state, Long cursor,
+                                         Integer size) {
+        if (state != null) {
+            parameters.put("state", state);
+            sb.append("state={state}&");
+        }
+
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            sb.append("cursor={cursor}&");
+        }
+
+        if (size != null) {
+            parameters.put("size", size);
+            sb.append("size={size}&");
+        }
+    }
+}
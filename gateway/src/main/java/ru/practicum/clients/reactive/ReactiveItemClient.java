@@ -0,0 +1,83 @@
+package ru.practicum.clients.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.dto.CommentDto;
+import ru.practicum.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(builder.clone()
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build()
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> createItem(Long userId, ItemDto itemDto) {
+        return post("", userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateItem(Long userId, Long itemId, ItemDto itemDto) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getItem(Long userId, Long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAll(Long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> searchForItem(Long userId, String text, LocalDateTime start, LocalDateTime end,
+                                                      Integer from, Integer size) {
+        StringBuilder sb = new StringBuilder();
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+
+        if (start != null) {
+            parameters.put("start", start);
+            parameters.put("end", end);
+            sb.append("start={start}&end={end}&");
+        }
+
+        if (from != null) {
+            parameters.put("from", from);
+            sb.append("from={from}&");
+        }
+
+        if (size != null) {
+            parameters.put("size", size);
+            sb.append("size={size}");
+        }
+
+        return get("/search?text={text}&" + sb, userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAvailability(Long userId, Long itemId, LocalDateTime from,
+                                                        LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> createComment(Long userId, Long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+}
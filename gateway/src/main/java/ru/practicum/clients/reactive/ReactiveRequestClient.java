@@ -0,0 +1,57 @@
+package ru.practicum.clients.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.dto.RequestDto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveRequestClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(builder.clone()
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build()
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> createRequest(Long userId, RequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getOwnRequests(Long userId) {
+        return get("/", userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllIRequests(Long userId, Integer from, Integer size) {
+        StringBuilder sb = new StringBuilder();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (from != null) {
+            parameters.put("from", from);
+            sb.append("from={from}&");
+        }
+
+        if (size != null) {
+            parameters.put("size", size);
+            sb.append("size={size}");
+        }
+
+        return get("/all?" + sb, userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getRequest(Long userId, Long requestId) {
+        return get("/" + requestId, userId);
+    }
+}
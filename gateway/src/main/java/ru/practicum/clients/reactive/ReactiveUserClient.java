@@ -0,0 +1,45 @@
+package ru.practicum.clients.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.dto.UserDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(@Value("${SHAREIT_SERVER_URL}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(builder.clone()
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build()
+        );
+    }
+
+    public Mono<ResponseEntity<byte[]>> createUser(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateUser(Long userId, UserDto userDto) {
+        return patch("/" + userId, userId, userDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getUser(Long userId) {
+        return get("/" + userId, userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllUsers() {
+        return get("/");
+    }
+
+    public Mono<ResponseEntity<byte[]>> deleteUser(Long userId) {
+        return delete("/" + userId);
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pooled keep-alive HTTP client for all calls from the gateway to the server.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(HttpClientProperties properties,
+                                                                             MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = new LeaseControlledConnectionManager(
+                Timer.builder("httpcomponents.httpclient.pool.lease")
+                        .description("Время ожидания свободного соединения из пула")
+                        .tag("httpclient", POOL_NAME)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Math.min(properties.getMaxTotal(), properties.getMaxPerRoute()));
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                       HttpClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+        long keepAliveMillis = properties.getKeepAlive().toMillis();
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+        };
+
+        // content compression stays on: requests carry Accept-Encoding: gzip,deflate and compressed answers
+        // of the server are decompressed before they reach the clients
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+    }
+
+    /**
+     * Records how long every request waits for a connection, including the time spent blocked on a full pool.
+     * <p>
+     * Requests queue on a fair semaphore with one permit per pooled connection instead of inside the pool:
+     * httpcore waits for a free connection while holding a monitor, which pins a virtual thread to its carrier
+     * (see {@code shareit.threads.virtual}). With a permit taken the pool always has a connection to give.
+     */
+    private static class LeaseControlledConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final Timer leaseTimer;
+        private final Semaphore permits;
+
+        LeaseControlledConnectionManager(Timer leaseTimer, int maxConnections) {
+            this.leaseTimer = leaseTimer;
+            this.permits = new Semaphore(maxConnections, true);
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ConnectionRequest request = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        acquirePermit(timeout, timeUnit);
+                        try {
+                            return request.get(timeout, timeUnit);
+                        } catch (InterruptedException | ExecutionException | ConnectionPoolTimeoutException
+                                 | RuntimeException e) {
+                            permits.release();
+                            throw e;
+                        }
+                    } finally {
+                        leaseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(HttpClientConnection managedConn, Object state, long keepAlive,
+                                      TimeUnit timeUnit) {
+            try {
+                super.releaseConnection(managedConn, state, keepAlive, timeUnit);
+            } finally {
+                permits.release();
+            }
+        }
+
+        private void acquirePermit(long timeout, TimeUnit timeUnit)
+                throws InterruptedException, ConnectionPoolTimeoutException {
+            // zero means no limit, as for the connection request timeout of the pool itself
+            if (timeout <= 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(timeout, timeUnit)) {
+                throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeouts of the HTTP client shared by all gateway clients.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Upper limit of open connections across all routes.
+     */
+    private int maxTotal = 200;
+
+    /**
+     * Upper limit of open connections to one host; all calls go to the server, so this is the effective limit.
+     */
+    private int maxPerRoute = 100;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long a request waits for a free pooled connection before failing.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Reactive mode only, its counterpart of {@code connectionRequestTimeout}. Netty accepts every connection,
+     * so requests that the servlet mode keeps in Tomcat's accept queue wait for a pooled connection here instead.
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Keep-alive used when the server does not send a Keep-Alive header, and the upper bound otherwise.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Idle connections are closed by a background thread after this time.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * A pooled connection idle for longer than this is checked before it is leased.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,53 @@
+package ru.practicum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user request limits of the gateway, one token bucket per user and controller.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Buckets of users idle for this long are dropped; it has to be long enough for a bucket to refill,
+     * otherwise a dropped bucket would come back fuller than it was.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Upper limit of buckets kept for one controller.
+     */
+    private long maxUsers = 100_000;
+
+    /**
+     * Limit of controllers without their own entry in {@link #limits}.
+     */
+    private Limit defaultLimit = new Limit();
+
+    /**
+     * Limits by controller path without the slash: {@code items}, {@code bookings}, {@code users}, {@code requests}.
+     */
+    private Map<String, Limit> limits = new HashMap<>();
+
+    @Data
+    public static class Limit {
+
+        /**
+         * Requests a user may make at once after being idle.
+         */
+        private int capacity = 50;
+
+        /**
+         * Sustained requests per second of a user.
+         */
+        private double perSecond = 20;
+    }
+}
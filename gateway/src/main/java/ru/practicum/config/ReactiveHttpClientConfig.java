@@ -0,0 +1,53 @@
+package ru.practicum.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Reactive mode of the gateway: Netty accepts the requests and forwards them through a non-blocking client
+ * with the same pool limits and timeouts as the servlet mode, except for the wait for a pooled connection.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class ReactiveHttpClientConfig {
+
+    /**
+     * Tomcat is on the classpath for the servlet mode and would otherwise be picked for the reactive one too.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxPerRoute())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .evictInBackground(properties.getIdleTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(ConnectionProvider shareItServerConnectionProvider,
+                                                      HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                // asks the server for gzip and decompresses, as the servlet mode client does by default
+                .compress(true);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
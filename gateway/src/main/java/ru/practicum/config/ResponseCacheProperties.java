@@ -0,0 +1,32 @@
+package ru.practicum.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Gateway cache of GET responses for single items, users and requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper limit of cached responses across all users.
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * A response younger than this is served without asking the server. Writes made through this gateway evict
+     * the affected responses at once, writes made elsewhere are seen after this time at the latest.
+     */
+    private Duration freshFor = Duration.ofSeconds(10);
+
+    /**
+     * An older response is revalidated with If-None-Match; responses not requested for this long are dropped.
+     */
+    private Duration maxAge = Duration.ofMinutes(10);
+}
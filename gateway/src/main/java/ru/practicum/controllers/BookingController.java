@@ -2,24 +2,33 @@ package ru.practicum.controllers;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.clients.BookingClient;
 import ru.practicum.dto.State;
+import ru.practicum.dto.BookingApprovalDto;
 import ru.practicum.dto.BookingInDto;
 
 import javax.validation.Valid;
+import javax.validation.ValidationException;
+import java.util.List;
 
 
 @Slf4j
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private static final String REQ_HEADER = "X-Sharer-User-Id";
     private final BookingClient bookingClient;
 
+    @Value("${shareit.booking.batch.max-size:100}")
+    private int maxBatchSize;
+
     @PostMapping
     public ResponseEntity<Object> create(@Valid @RequestBody BookingInDto bookingInDto,
                                          @RequestHeader(REQ_HEADER) Long bookerId) {
@@ -27,6 +36,23 @@ public class BookingController {
         return bookingClient.create(bookingInDto, bookerId);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(@RequestBody List<BookingInDto> bookingInDtos,
+                                            @RequestHeader(REQ_HEADER) Long bookerId) {
+        log.info("Получен POST запрос /bookings/batch на {} бронирований, пользователь - {}", bookingInDtos.size(),
+                bookerId);
+        checkBatchSize(bookingInDtos);
+        return bookingClient.createAll(bookingInDtos, bookerId);
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateStatuses(@RequestBody List<BookingApprovalDto> approvals,
+                                                 @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен PATCH запрос /bookings/batch на {} решений, пользователь={}", approvals.size(), userId);
+        checkBatchSize(approvals);
+        return bookingClient.updateStatuses(userId, approvals);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> update(@PathVariable Long bookingId,
                                          @RequestHeader(REQ_HEADER) Long userId, @RequestParam Boolean approved) {
@@ -42,20 +68,30 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                              @RequestParam(name = "cursor", required = false) Long cursor,
+                                              @RequestParam(name = "size", required = false) Integer size,
                                               @RequestHeader(REQ_HEADER) Long userId) {
-        log.info("Получен GET запрос /bookings бронирований пользователя с ID={} с параметром STATE={}", userId, state);
+        log.info("Получен GET запрос /bookings бронирований пользователя с ID={} с параметром STATE={}, cursor={}, " +
+                "size={}", userId, state, cursor, size);
         State stateEnum = State.from(state).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getAllBookingByUserId(userId, stateEnum);
+        return bookingClient.getAllBookingByUserId(userId, stateEnum, cursor, size);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingsOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                   @RequestParam(name = "cursor", required = false) Long cursor,
+                                                   @RequestParam(name = "size", required = false) Integer size,
                                                    @RequestHeader(REQ_HEADER) Long userId) {
-        log.info("Получен GET запрос /bookings/owner бронирований вещей пользователя с ID={} с параметром STATE={}",
-                userId, state);
+        log.info("Получен GET запрос /bookings/owner бронирований вещей пользователя с ID={} с параметром STATE={}, " +
+                "cursor={}, size={}", userId, state, cursor, size);
         State stateEnum = State.from(state).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getBookingForUserItems(userId, stateEnum);
+        return bookingClient.getBookingForUserItems(userId, stateEnum, cursor, size);
     }
-}
-
 
+    // entries are validated one by one on the server, which answers with a status per entry
+    private void checkBatchSize(List<?> entries) {
+        if (entries.isEmpty() || entries.size() > maxBatchSize) {
+            throw new ValidationException("В пакете должно быть от 1 до " + maxBatchSize + " записей!");
+        }
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.controllers;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,11 +12,14 @@ import ru.practicum.clients.ItemClient;
 import ru.practicum.dto.CommentDto;
 import ru.practicum.dto.ItemDto;
 
+import javax.validation.ValidationException;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 
 @Slf4j
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 public class ItemController {
@@ -51,12 +56,40 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestParam(name = "text") String text, @RequestHeader(REQ_HEADER) Long userId) {
-        log.info("Получен  GET запрос /items/search с телом {}", text);
+    public ResponseEntity<Object> searchItem(
+            @RequestParam(name = "text") String text,
+            @RequestParam(name = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(name = "from", required = false) Integer from,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен  GET запрос /items/search с телом {}, start = {}, end = {}, from = {}, size = {}", text,
+                start, end, from, size);
+        if ((start == null) != (end == null)) {
+            throw new ValidationException("Для поиска свободных вещей нужны и начало (start), и конец (end) периода!");
+        }
+        if (start != null && !end.isAfter(start)) {
+            throw new ValidationException("Конец периода (end) должен быть позже начала (start)!");
+        }
         if (text.isBlank()) {
             return ResponseEntity.ok(Collections.emptyList());
         }
-        return itemClient.searchForItem(userId, text);
+        return itemClient.searchForItem(userId, text, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(
+            @PathVariable("itemId") Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен GET запрос /items/{}/availability с {} по {}", itemId, from, to);
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Конец периода (to) должен быть позже начала (from)!");
+        }
+        return itemClient.getAvailability(userId, itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
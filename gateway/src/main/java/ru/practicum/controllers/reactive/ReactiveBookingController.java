@@ -0,0 +1,98 @@
+package ru.practicum.controllers.reactive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.clients.reactive.ReactiveBookingClient;
+import ru.practicum.dto.BookingApprovalDto;
+import ru.practicum.dto.BookingInDto;
+import ru.practicum.dto.State;
+
+import javax.validation.Valid;
+import javax.validation.ValidationException;
+import java.util.List;
+
+@Slf4j
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+public class ReactiveBookingController {
+    private static final String REQ_HEADER = "X-Sharer-User-Id";
+    private final ReactiveBookingClient bookingClient;
+
+    @Value("${shareit.booking.batch.max-size:100}")
+    private int maxBatchSize;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> create(@Valid @RequestBody BookingInDto bookingInDto,
+                                               @RequestHeader(REQ_HEADER) Long bookerId) {
+        log.info("Получен POST запрос /bookings c телом {}, пользователь - {}", bookingInDto, bookerId);
+        return bookingClient.create(bookingInDto, bookerId);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<byte[]>> createAll(@RequestBody List<BookingInDto> bookingInDtos,
+                                                  @RequestHeader(REQ_HEADER) Long bookerId) {
+        log.info("Получен POST запрос /bookings/batch на {} бронирований, пользователь - {}", bookingInDtos.size(),
+                bookerId);
+        checkBatchSize(bookingInDtos);
+        return bookingClient.createAll(bookingInDtos, bookerId);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<byte[]>> updateStatuses(@RequestBody List<BookingApprovalDto> approvals,
+                                                       @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен PATCH запрос /bookings/batch на {} решений, пользователь={}", approvals.size(), userId);
+        checkBatchSize(approvals);
+        return bookingClient.updateStatuses(userId, approvals);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<byte[]>> update(@PathVariable Long bookingId,
+                                               @RequestHeader(REQ_HEADER) Long userId, @RequestParam Boolean approved) {
+        log.info("Получен PATCH запрос /bookings/bookingId бронь={}, пользователь={}, состояние={}", bookingId, userId, approved);
+        return bookingClient.updateStatus(userId, approved, bookingId);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<byte[]>> getBookingById(@PathVariable Long bookingId,
+                                                       @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен GET запрос /bookings' на получение бронирования с ID={}", bookingId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                    @RequestParam(name = "cursor", required = false) Long cursor,
+                                                    @RequestParam(name = "size", required = false) Integer size,
+                                                    @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен GET запрос /bookings бронирований пользователя с ID={} с параметром STATE={}, cursor={}, " +
+                "size={}", userId, state, cursor, size);
+        State stateEnum = State.from(state).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
+        return bookingClient.getAllBookingByUserId(userId, stateEnum, cursor, size);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<byte[]>> getBookingsOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                         @RequestParam(name = "cursor", required = false) Long cursor,
+                                                         @RequestParam(name = "size", required = false) Integer size,
+                                                         @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен GET запрос /bookings/owner бронирований вещей пользователя с ID={} с параметром STATE={}, " +
+                "cursor={}, size={}", userId, state, cursor, size);
+        State stateEnum = State.from(state).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
+        return bookingClient.getBookingForUserItems(userId, stateEnum, cursor, size);
+    }
+
+    // entries are validated one by one on the server, which answers with a status per entry
+    private void checkBatchSize(List<?> entries) {
+        if (entries.isEmpty() || entries.size() > maxBatchSize) {
+            throw new ValidationException("В пакете должно быть от 1 до " + maxBatchSize + " записей!");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.controllers.reactive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.clients.reactive.ReactiveItemClient;
+import ru.practicum.controllers.BaseControllerInterface;
+import ru.practicum.dto.CommentDto;
+import ru.practicum.dto.ItemDto;
+
+import javax.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+public class ReactiveItemController {
+
+    private final ReactiveItemClient itemClient;
+    private static final String REQ_HEADER = "X-Sharer-User-Id";
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+
+    @PostMapping
+    @Validated({BaseControllerInterface.Create.class})
+    public Mono<ResponseEntity<byte[]>> addItem(@RequestBody ItemDto itemDto, @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен POST запрос /items с телом {}", itemDto);
+        return itemClient.createItem(userId, itemDto);
+    }
+
+    @PatchMapping("/{itemId}")
+    @Validated({BaseControllerInterface.Update.class})
+    public Mono<ResponseEntity<byte[]>> editItem(@RequestBody ItemDto itemDto,
+                                                 @PathVariable("itemId") Long itemId,
+                                                 @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен PATCH запрос /items/{} с телом {}", itemId, itemDto);
+        return itemClient.updateItem(userId, itemId, itemDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<byte[]>> getItemById(@PathVariable("itemId") Long itemId,
+                                                    @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен GET запрос /items/{}", itemId);
+        return itemClient.getItem(userId, itemId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getItemsByUserId(@RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен GET запрос /items по пользователю {}", userId);
+        return itemClient.getAll(userId);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<byte[]>> searchItem(
+            @RequestParam(name = "text") String text,
+            @RequestParam(name = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(name = "from", required = false) Integer from,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен  GET запрос /items/search с телом {}, start = {}, end = {}, from = {}, size = {}", text,
+                start, end, from, size);
+        if ((start == null) != (end == null)) {
+            throw new ValidationException("Для поиска свободных вещей нужны и начало (start), и конец (end) периода!");
+        }
+        if (start != null && !end.isAfter(start)) {
+            throw new ValidationException("Конец периода (end) должен быть позже начала (start)!");
+        }
+        if (text.isBlank()) {
+            return Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(EMPTY_LIST));
+        }
+        return itemClient.searchForItem(userId, text, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<byte[]>> getAvailability(
+            @PathVariable("itemId") Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен GET запрос /items/{}/availability с {} по {}", itemId, from, to);
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Конец периода (to) должен быть позже начала (from)!");
+        }
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    @Validated(BaseControllerInterface.Create.class)
+    public Mono<ResponseEntity<byte[]>> addComment(@RequestBody CommentDto commentDto,
+                                                   @PathVariable("itemId") Long itemId,
+                                                   @RequestHeader(REQ_HEADER) Long userId) {
+        return itemClient.createComment(userId, itemId, commentDto);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.controllers.reactive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.clients.reactive.ReactiveRequestClient;
+import ru.practicum.controllers.BaseControllerInterface;
+import ru.practicum.dto.RequestDto;
+
+@Slf4j
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+public class ReactiveRequestController {
+
+    private final ReactiveRequestClient requestClient;
+    private static final String REQ_HEADER = "X-Sharer-User-Id";
+
+    @PostMapping
+    @Validated({BaseControllerInterface.Create.class})
+    public Mono<ResponseEntity<byte[]>> createItemRequest(@RequestBody RequestDto requestDto,
+                                                          @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Пользователь с id = {} отправил запрос на создание запроса", userId);
+        return requestClient.createRequest(userId, requestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getOwnItemRequests(@RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Пользователь с id = {} отправил запрос на получение оставленных им запросов", userId);
+        return requestClient.getOwnRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<byte[]>> getAllItemRequests(@RequestParam(value = "from", required = false) Integer from,
+                                                           @RequestParam(value = "size", required = false) Integer size,
+                                                           @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Пользователь с id = {} отправил запрос на получение всех запросов (from = {}, size = {}", userId,
+                from, size);
+        return requestClient.getAllIRequests(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<byte[]>> getItemRequestById(@PathVariable("requestId") Long requestId,
+                                                           @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Пользователь с id = {} отправил запрос на получение запроса с id = {}", userId, requestId);
+        return requestClient.getRequest(userId, requestId);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.controllers.reactive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.clients.reactive.ReactiveUserClient;
+import ru.practicum.controllers.BaseControllerInterface;
+import ru.practicum.dto.UserDto;
+
+@Slf4j
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    @Validated({BaseControllerInterface.Create.class})
+    public Mono<ResponseEntity<byte[]>> createUser(@RequestBody UserDto userDto) {
+        log.info("Получен POST запрос /users с телом {}", userDto);
+        return userClient.createUser(userDto);
+    }
+
+    @PatchMapping("/{userId}")
+    @Validated({BaseControllerInterface.Update.class})
+    public Mono<ResponseEntity<byte[]>> updateUser(@RequestBody UserDto userDto, @PathVariable("userId") Long userId) {
+        log.info("Получен PATCH запрос /users/{} с телом {}", userId, userDto);
+        return userClient.updateUser(userId, userDto);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<byte[]>> getUserById(@PathVariable("userId") Long userId) {
+        log.info("Получен GET запрос /users/{}", userId);
+        return userClient.getUser(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAllUsers() {
+        log.info("Получен GET запрос /users");
+        return userClient.getAllUsers();
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable("userId") Long userId) {
+        log.info("Получен DELETE запрос /users/{}", userId);
+        return userClient.deleteUser(userId).thenReturn(ResponseEntity.ok().build());
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BookingApprovalDto {
+    private Long bookingId;
+    private Boolean approved;
+}
@@ -1,22 +1,33 @@
 package ru.practicum.errors;
 
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
 import ru.practicum.controllers.BookingController;
 import ru.practicum.controllers.ItemController;
 import ru.practicum.controllers.RequestController;
 import ru.practicum.controllers.UserController;
+import ru.practicum.controllers.reactive.ReactiveBookingController;
+import ru.practicum.controllers.reactive.ReactiveItemController;
+import ru.practicum.controllers.reactive.ReactiveRequestController;
+import ru.practicum.controllers.reactive.ReactiveUserController;
 
 import javax.validation.ConstraintViolationException;
 import javax.validation.ValidationException;
 
 
 @Slf4j
-@RestControllerAdvice(assignableTypes = {UserController.class, ItemController.class, BookingController.class, RequestController.class})
+@RestControllerAdvice(assignableTypes = {UserController.class, ItemController.class, BookingController.class, RequestController.class,
+        ReactiveUserController.class, ReactiveItemController.class, ReactiveBookingController.class,
+        ReactiveRequestController.class})
 public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -31,4 +42,19 @@ public class ErrorHandler {
         log.info(ex.getMessage());
         return new ErrorResponse(ex.getMessage());
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException e) {
+        log.info(e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class, ResourceAccessException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailable(RuntimeException e) {
+        log.error("Сервер недоступен: {}", e.getMessage());
+        return new ErrorResponse("Сервер временно недоступен, повторите запрос позже");
+    }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.errors;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(Long userId, String limitName, long retryAfterSeconds) {
+        // thrown for every rejected request of a flooding user, the stack trace is of no use
+        super(String.format("Пользователь %s превысил лимит запросов к /%s, повторите через %d с",
+                userId, limitName, retryAfterSeconds), null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.ratelimit;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.errors.TooManyRequestsException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects a request of a user who has used up the limit of the controller. Requests without X-Sharer-User-Id,
+ * like user registration, are not limited. The header is parsed the way the controllers bind it, so {@code 1},
+ * {@code +1} and {@code " 01"} share one bucket; a header that is not a number gets no bucket and is rejected
+ * by the controller.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String REQ_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+    private final Map<Class<?>, String> limitNames = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(REQ_HEADER);
+        if (header == null || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        Long userId;
+        try {
+            userId = NumberUtils.parseNumber(header, Long.class);
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+
+        String limitName = limitNames.computeIfAbsent(((HandlerMethod) handler).getBeanType(),
+                RateLimitInterceptor::limitName);
+        long waitNanos = rateLimiter.tryAcquire(limitName, userId);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(userId, limitName,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        return true;
+    }
+
+    private static String limitName(Class<?> controller) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+        if (mapping == null || mapping.path().length == 0) {
+            return controller.getSimpleName();
+        }
+        return mapping.path()[0].replaceFirst("^/", "");
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ru.practicum.config.RateLimitProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets of all users, one bounded cache per controller: buckets of idle users expire, so memory
+ * does not grow with the number of users ever seen.
+ */
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Map<String, Cache<Long, TokenBucket>> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param limitName controller path without the slash, e.g. {@code items}
+     * @param userId    value of X-Sharer-User-Id
+     * @return 0 if the request is allowed, otherwise nanoseconds until it would be
+     */
+    public long tryAcquire(String limitName, Long userId) {
+        RateLimitProperties.Limit limit = properties.getLimits().getOrDefault(limitName, properties.getDefaultLimit());
+        long now = System.nanoTime();
+        return buckets.computeIfAbsent(limitName, name -> newCache())
+                .get(userId, id -> new TokenBucket(limit.getCapacity(), limit.getPerSecond(), now))
+                .tryAcquire(now);
+    }
+
+    private Cache<Long, TokenBucket> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single time, the moment the bucket will be full again (the "virtual
+ * scheduling" form of the generic cell rate algorithm): a request takes a token by moving that moment one refill
+ * interval ahead with a compare-and-set, and is rejected if it would end up more than a full bucket ahead of now.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double perSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / perSecond));
+        this.capacityNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise nanoseconds until one will be available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.config.RateLimitProperties;
+import ru.practicum.errors.TooManyRequestsException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateLimitInterceptorTest {
+
+    private RateLimitInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(2);
+        properties.getDefaultLimit().setPerSecond(0.001);
+        interceptor = new RateLimitInterceptor(new RateLimiter(properties));
+        handler = new HandlerMethod(new ItemsController(), ItemsController.class.getMethod("get"));
+    }
+
+    @Test
+    void shouldShareBucketBetweenFormsOfSameUserId() {
+        assertThat(preHandle("1")).isTrue();
+        assertThat(preHandle(" +01")).isTrue();
+
+        assertThatThrownBy(() -> preHandle("1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatThrownBy(() -> preHandle("0x1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(preHandle("2")).isTrue();
+    }
+
+    @Test
+    void shouldLeaveNonNumericUserIdToController() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(preHandle("abc")).isTrue();
+        }
+    }
+
+    private boolean preHandle(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Sharer-User-Id", userId);
+        return interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+    }
+
+    @RequestMapping("/items")
+    public static class ItemsController {
+        public void get() {
+        }
+    }
+}
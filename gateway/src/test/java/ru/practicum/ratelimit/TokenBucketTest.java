@@ -0,0 +1,82 @@
+package ru.practicum.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 1, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isPositive();
+    }
+
+    @Test
+    void shouldRefillOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(5, 2, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        assertThat(bucket.tryAcquire(SECOND / 2 - 1)).isPositive();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isPositive();
+    }
+
+    @Test
+    void shouldReturnTimeUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(SECOND / 4)).isEqualTo(SECOND * 3 / 4);
+    }
+
+    @Test
+    void shouldGiveExactlyCapacityTokensToConcurrentRequests() throws Exception {
+        int capacity = 1000;
+        int threads = 16;
+        // no token comes back during the test
+        TokenBucket bucket = new TokenBucket(capacity, 0.001, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    int taken = 0;
+                    for (int i = 0; i < capacity / 4; i++) {
+                        taken += bucket.tryAcquire(i) == 0 ? 1 : 0;
+                    }
+                    return taken;
+                }));
+            }
+            startGate.countDown();
+
+            int taken = 0;
+            for (Future<Integer> result : results) {
+                taken += result.get();
+            }
+            assertThat(taken).isEqualTo(capacity);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
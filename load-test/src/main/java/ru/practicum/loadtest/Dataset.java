@@ -0,0 +1,39 @@
+package ru.practicum.loadtest;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ids of the seeded entities the replayed requests refer to.
+ */
+@Data
+public class Dataset {
+
+    static final String[] WORDS = {
+        "drill", "hammer", "saw", "ladder", "tent", "bike", "kayak", "camera", "tripod", "projector",
+        "speaker", "guitar", "blender", "mixer", "vacuum", "heater", "fan", "lamp", "table", "chair",
+        "cordless", "electric", "portable", "compact", "heavy", "light", "old", "new", "red", "black"
+    };
+
+    private final List<Long> userIds;
+    private final List<Long> ownerIds;
+    private final List<Long> itemIds;
+
+    public long randomUser(Random random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    public long randomOwner(Random random) {
+        return ownerIds.get(random.nextInt(ownerIds.size()));
+    }
+
+    public long randomItem(Random random) {
+        return itemIds.get(random.nextInt(itemIds.size()));
+    }
+
+    public static String randomWord(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
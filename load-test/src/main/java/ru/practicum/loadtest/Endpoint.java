@@ -0,0 +1,85 @@
+package ru.practicum.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Gateway endpoints replayed by the load test. Every call builds a path and picks the calling user.
+ */
+public enum Endpoint {
+    BOOKINGS("bookings") {
+        @Override
+        public String path(Dataset dataset, Random random) {
+            return "/bookings?state=" + randomState(random) + "&size=20";
+        }
+    },
+    BOOKINGS_OWNER("bookings-owner") {
+        @Override
+        public String path(Dataset dataset, Random random) {
+            return "/bookings/owner?state=" + randomState(random) + "&size=20";
+        }
+
+        @Override
+        public long userId(Dataset dataset, Random random) {
+            return dataset.randomOwner(random);
+        }
+    },
+    ITEMS_SEARCH("items-search") {
+        @Override
+        public String path(Dataset dataset, Random random) {
+            return "/items/search?text=" + Dataset.randomWord(random) + "&from=0&size=20";
+        }
+    },
+    REQUESTS_ALL("requests-all") {
+        @Override
+        public String path(Dataset dataset, Random random) {
+            return "/requests/all?from=0&size=20";
+        }
+    },
+    ITEM("item") {
+        @Override
+        public String path(Dataset dataset, Random random) {
+            return "/items/" + dataset.randomItem(random);
+        }
+    },
+    ITEMS_OWNER("items-owner") {
+        @Override
+        public String path(Dataset dataset, Random random) {
+            return "/items";
+        }
+
+        @Override
+        public long userId(Dataset dataset, Random random) {
+            return dataset.randomOwner(random);
+        }
+    };
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String endpointName;
+
+    Endpoint(String endpointName) {
+        this.endpointName = endpointName;
+    }
+
+    public String getEndpointName() {
+        return endpointName;
+    }
+
+    public abstract String path(Dataset dataset, Random random);
+
+    public long userId(Dataset dataset, Random random) {
+        return dataset.randomUser(random);
+    }
+
+    public static Endpoint byName(String name) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.endpointName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный эндпоинт: " + name));
+    }
+
+    private static String randomState(Random random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+}
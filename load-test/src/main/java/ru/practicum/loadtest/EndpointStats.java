@@ -0,0 +1,52 @@
+package ru.practicum.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint in nanoseconds. Not thread-safe: every worker keeps its own instance
+ * and they are merged at the end of the run.
+ */
+public class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public void record(long latencyNanos, boolean failed) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (failed) {
+            errors++;
+        }
+    }
+
+    public void merge(EndpointStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i], false);
+        }
+        errors += other.errors;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds.
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
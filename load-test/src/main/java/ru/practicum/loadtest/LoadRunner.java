@@ -0,0 +1,85 @@
+package ru.practicum.loadtest;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load: every client sends the next request as soon as the previous one is answered.
+ * Clients run on virtual threads, so thousands of concurrent connections do not need thousands of
+ * platform threads. Requests finished during the warmup are not recorded.
+ */
+@RequiredArgsConstructor
+public class LoadRunner {
+
+    private final GatewayClient gatewayClient;
+    private final Dataset dataset;
+    private final LoadTestSettings settings;
+
+    public Map<Endpoint, EndpointStats> run(int threads) throws InterruptedException {
+        List<Endpoint> weighted = new ArrayList<>();
+        settings.getMix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        });
+
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + settings.getWarmup().toNanos();
+        long stopAt = measureFrom + settings.getDuration().toNanos();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<Map<Endpoint, EndpointStats>>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(i);
+            workers.add(executor.submit(() -> work(weighted, random, measureFrom, stopAt)));
+        }
+        executor.shutdown();
+
+        Map<Endpoint, EndpointStats> total = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, EndpointStats>> worker : workers) {
+            try {
+                worker.get().forEach((endpoint, stats) -> total.computeIfAbsent(endpoint, key -> new EndpointStats())
+                        .merge(stats));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return total;
+    }
+
+    private Map<Endpoint, EndpointStats> work(List<Endpoint> weighted, Random random, long measureFrom,
+                                              long stopAt) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        while (System.nanoTime() < stopAt) {
+            Endpoint endpoint = weighted.get(random.nextInt(weighted.size()));
+            String path = endpoint.path(dataset, random);
+            long userId = endpoint.userId(dataset, random);
+
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                failed = gatewayClient.get(path, userId) >= 400;
+            } catch (IOException e) {
+                failed = true;
+            }
+            long end = System.nanoTime();
+
+            if (start >= measureFrom && end <= stopAt) {
+                stats.computeIfAbsent(endpoint, key -> new EndpointStats()).record(end - start, failed);
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ShareItGateway;
+import ru.practicum.loadtest.gateway.GatewayApplication;
+import ru.practicum.shareit.ShareItServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the server on an in-memory H2 database and the gateway in front of it, seeds both through the gateway,
+ * replays the endpoint mix and writes p50/p99 latency and throughput of every endpoint as JSON.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings(args);
+
+        try (ConfigurableApplicationContext server = startServer(settings);
+             ConfigurableApplicationContext gateway = startGateway(port(server), settings)) {
+            GatewayClient gatewayClient = new GatewayClient("http://localhost:" + port(gateway));
+            Dataset dataset = new Seeder(gatewayClient, server.getBean(JdbcTemplate.class)).seed(settings);
+
+            LoadRunner loadRunner = new LoadRunner(gatewayClient, dataset, settings);
+            List<Map<String, Object>> runs = new ArrayList<>();
+            for (int threads : settings.getThreads()) {
+                double collapsedBefore = collapsedRequests(gateway);
+                Map<String, Object> run = report(settings, threads, loadRunner.run(threads));
+                run.put("collapsedRequests", collapsedRequests(gateway) - collapsedBefore);
+                runs.add(run);
+            }
+            writeReport(settings, runs);
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer(LoadTestSettings settings) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--spring.profiles.active=test",
+                "--spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                "--shareit.threads.virtual=" + settings.isVirtualThreads(),
+                "--logging.file.name=",
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        args.addAll(settings.getServerProperties());
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext startGateway(int serverPort, LoadTestSettings settings)
+            throws IOException {
+        // gateway.properties of the load test goes on top of the gateway's own settings
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.config.location=" + gatewayApplicationProperties() + ",classpath:gateway.properties",
+                "--spring.main.web-application-type=" + settings.getGatewayMode(),
+                "--shareit.threads.virtual=" + settings.isVirtualThreads(),
+                "--SHAREIT_SERVER_URL=http://localhost:" + serverPort));
+        // the seeder and the load clients act as a few hundred very busy users, switch it on with
+        // gateway:shareit.rate-limit.enabled=true to measure the limiter itself
+        if (settings.getGatewayProperties().stream()
+                .noneMatch(arg -> arg.startsWith("--shareit.rate-limit.enabled="))) {
+            args.add("--shareit.rate-limit.enabled=false");
+        }
+        args.addAll(settings.getGatewayProperties());
+        return new SpringApplicationBuilder(GatewayApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Both applications have an application.properties and only the server's is found by name.
+     */
+    private static String gatewayApplicationProperties() throws IOException {
+        String gatewayCode = ShareItGateway.class.getProtectionDomain().getCodeSource().getLocation().toString();
+        Enumeration<URL> candidates = LoadTestApplication.class.getClassLoader().getResources("application.properties");
+        while (candidates.hasMoreElements()) {
+            String candidate = candidates.nextElement().toString();
+            if (candidate.contains(gatewayCode)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Не найден application.properties шлюза в " + gatewayCode);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Gateway requests answered by a concurrent identical call to the server, see {@code SingleFlight};
+     * includes the warmup.
+     */
+    private static double collapsedRequests(ConfigurableApplicationContext gateway) {
+        Counter counter = gateway.getBean(MeterRegistry.class).find("shareit.gateway.requests.collapsed").counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static Map<String, Object> report(LoadTestSettings settings, int threads,
+                                              Map<Endpoint, EndpointStats> stats) {
+        double seconds = settings.getDuration().toMillis() / 1000.0;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        double totalRps = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            double rps = endpointStats.getCount() / seconds;
+            totalRps += rps;
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("endpoint", entry.getKey().getEndpointName());
+            endpoint.put("requests", endpointStats.getCount());
+            endpoint.put("errors", endpointStats.getErrors());
+            endpoint.put("rps", rps);
+            endpoint.put("p50Ms", endpointStats.percentileMillis(50));
+            endpoint.put("p99Ms", endpointStats.percentileMillis(99));
+            endpoints.add(endpoint);
+            log.warn("{} потоков, {}: {} запросов, {} ошибок, {} rps, p50 = {} мс, p99 = {} мс", threads,
+                    entry.getKey().getEndpointName(), endpointStats.getCount(), endpointStats.getErrors(),
+                    String.format("%.1f", rps), String.format("%.2f", endpointStats.percentileMillis(50)),
+                    String.format("%.2f", endpointStats.percentileMillis(99)));
+        }
+        log.warn("{} потоков: всего {} rps", threads, String.format("%.1f", totalRps));
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("threads", threads);
+        run.put("totalRps", totalRps);
+        run.put("endpoints", endpoints);
+        return run;
+    }
+
+    private static void writeReport(LoadTestSettings settings, List<Map<String, Object>> runs) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("gatewayMode", settings.getGatewayMode());
+        report.put("virtualThreads", settings.isVirtualThreads());
+        report.put("warmupSeconds", settings.getWarmup().toSeconds());
+        report.put("durationSeconds", settings.getDuration().toMillis() / 1000.0);
+        report.put("runs", runs);
+
+        File file = new File(settings.getReport());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        log.warn("Отчет нагрузочного теста записан в {}", file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Load test parameters given as {@code name=value} or {@code --name=value} arguments. Arguments prefixed with
+ * {@code server:} or {@code gateway:} are passed on as properties of that application,
+ * e.g. {@code gateway:shareit-server.http-client.max-per-route=1000}.
+ */
+@Getter
+public class LoadTestSettings {
+
+    private static final String DEFAULT_MIX =
+            "bookings:25,bookings-owner:20,items-search:25,requests-all:10,item:10,items-owner:10";
+
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    /**
+     * Concurrency levels, e.g. {@code threads=50,200,800}: the mix is replayed once per level with as many
+     * concurrent connections.
+     */
+    private final List<Integer> threads;
+    /**
+     * {@code servlet} or {@code reactive}, the gateway runtime under test.
+     */
+    private final String gatewayMode;
+    /**
+     * Serve both applications on virtual threads, see {@code shareit.threads.virtual}.
+     */
+    private final boolean virtualThreads;
+    private final List<String> serverProperties = new ArrayList<>();
+    private final List<String> gatewayProperties = new ArrayList<>();
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Endpoint, Integer> mix;
+    private final String report;
+
+    public LoadTestSettings(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String nameAndValue = arg.startsWith("--") ? arg.substring(2) : arg;
+            if (!nameAndValue.contains("=")) {
+                throw new IllegalArgumentException("Ожидается аргумент вида name=value: " + arg);
+            }
+            if (nameAndValue.startsWith("server:")) {
+                serverProperties.add("--" + nameAndValue.substring("server:".length()));
+            } else if (nameAndValue.startsWith("gateway:")) {
+                gatewayProperties.add("--" + nameAndValue.substring("gateway:".length()));
+            } else {
+                values.put(nameAndValue.substring(0, nameAndValue.indexOf('=')),
+                        nameAndValue.substring(nameAndValue.indexOf('=') + 1));
+            }
+        }
+
+        users = Integer.parseInt(values.getOrDefault("users", "200"));
+        items = Integer.parseInt(values.getOrDefault("items", "2000"));
+        requests = Integer.parseInt(values.getOrDefault("requests", "200"));
+        bookings = Integer.parseInt(values.getOrDefault("bookings", "20000"));
+        threads = Arrays.stream(values.getOrDefault("threads", "16").split(","))
+                .map(level -> Integer.parseInt(level.trim()))
+                .collect(Collectors.toList());
+        gatewayMode = values.getOrDefault("gateway", "servlet");
+        virtualThreads = Boolean.parseBoolean(values.getOrDefault("virtual", "false"));
+        warmup = DurationStyle.detectAndParse(values.getOrDefault("warmup", "5s"));
+        duration = DurationStyle.detectAndParse(values.getOrDefault("duration", "30s"));
+        mix = parseMix(values.getOrDefault("mix", DEFAULT_MIX));
+        report = values.getOrDefault("report", "load-test-report.json");
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(Endpoint.byName(parts[0]), parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+        return mix;
+    }
+}
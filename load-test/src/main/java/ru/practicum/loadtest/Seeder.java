@@ -0,0 +1,92 @@
+package ru.practicum.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates users, items and requests through the gateway, so the server sees them as regular writes
+ * (the search index included). Bookings are inserted straight into the server database: the API only
+ * accepts future bookings, while the listings need past and current ones as well.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class Seeder {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] STATUSES = {"WAITING", "APPROVED", "REJECTED", "CANCELED"};
+
+    private final GatewayClient gatewayClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    public Dataset seed(LoadTestSettings settings) {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < settings.getUsers(); i++) {
+            userIds.add(gatewayClient.post("/users", null, Map.of("name", "user" + i,
+                    "email", "user" + i + "@load.ru")));
+        }
+        List<Long> ownerIds = userIds.subList(0, Math.max(1, userIds.size() / 2));
+
+        for (int i = 0; i < settings.getRequests(); i++) {
+            gatewayClient.post("/requests", pick(userIds), Map.of("description", "need a " + phrase(2)));
+        }
+
+        List<Long> itemIds = new ArrayList<>();
+        Map<Long, Long> itemOwners = new HashMap<>();
+        for (int i = 0; i < settings.getItems(); i++) {
+            long ownerId = pick(ownerIds);
+            long itemId = gatewayClient.post("/items", ownerId, Map.of("name", phrase(2),
+                    "description", phrase(8), "available", random.nextInt(5) != 0));
+            itemIds.add(itemId);
+            itemOwners.put(itemId, ownerId);
+        }
+
+        insertBookings(settings.getBookings(), userIds, itemIds, itemOwners);
+        log.warn("Созданы тестовые данные: {} пользователей, {} вещей, {} запросов, {} бронирований",
+                userIds.size(), itemIds.size(), settings.getRequests(), settings.getBookings());
+        return new Dataset(userIds, ownerIds, itemIds);
+    }
+
+    private void insertBookings(int count, List<Long> userIds, List<Long> itemIds, Map<Long, Long> itemOwners) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long itemId = pick(itemIds);
+            long bookerId = pick(userIds);
+            if (bookerId == itemOwners.get(itemId)) {
+                continue;
+            }
+            LocalDateTime start = now.minusDays(180).plusMinutes(random.nextInt(360 * 24 * 60));
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1 + random.nextInt(72))),
+                    itemId, bookerId, STATUSES[random.nextInt(STATUSES.length)]});
+        }
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                    "VALUES (?, ?, ?, ?, ?)", rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private String phrase(int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(Dataset.randomWord(random));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.loadtest.gateway;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gateway configuration for running next to the server in one JVM. {@code ShareItGateway} scans the whole
+ * {@code ru.practicum} package and would pick up the server beans, and the gateway needs no database.
+ */
+@Configuration
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        SqlInitializationAutoConfiguration.class})
+@ComponentScan({"ru.practicum.clients", "ru.practicum.config", "ru.practicum.controllers", "ru.practicum.errors"})
+public class GatewayApplication {
+}
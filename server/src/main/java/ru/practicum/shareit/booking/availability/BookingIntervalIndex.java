@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Waiting and approved bookings of recently asked items kept in the server memory as {@link BookingIntervals}.
+ * An item missing here is loaded from the database with one indexed query. Booking writes update the loaded items
+ * right away, so the current transaction sees them, and once more when the transaction completes: with the new
+ * state after a commit, with the old one after a rollback.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+
+    private static final List<Status> BUSY_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, BookingIntervals> cache;
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.availability.max-items:10000}") long maxItems,
+                                @Value("${shareit.availability.ttl:10m}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bookingIntervals");
+    }
+
+    /**
+     * Free and busy parts of {@code [from, to)}: together they cover the whole window.
+     */
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<PeriodDto> busy = get(itemId).busy(from, to);
+
+        List<PeriodDto> free = new ArrayList<>();
+        LocalDateTime freeStart = from;
+        for (PeriodDto period : busy) {
+            if (period.getStart().isAfter(freeStart)) {
+                free.add(new PeriodDto(freeStart, period.getStart()));
+            }
+            freeStart = period.getEnd();
+        }
+        if (to.isAfter(freeStart)) {
+            free.add(new PeriodDto(freeStart, to));
+        }
+        return new ItemAvailabilityDto(itemId, from, to, free, busy);
+    }
+
+    /**
+     * Records a saved booking. {@code previousStatus} is the status before the write or {@code null}
+     * for a new booking.
+     */
+    public void update(Booking booking, Status previousStatus) {
+        Change change = new Change(booking.getItem().getId(), booking.getId(), booking.getStart(), booking.getEnd());
+        boolean busy = BUSY_STATUSES.contains(booking.getStatus());
+        boolean wasBusy = previousStatus != null && BUSY_STATUSES.contains(previousStatus);
+
+        apply(change, busy);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    apply(change, status == STATUS_COMMITTED ? busy : wasBusy);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops all loaded items now and after the transaction, for writes that remove bookings in bulk,
+     * like the cascade of a deleted user.
+     */
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private BookingIntervals get(Long itemId) {
+        BookingIntervals cached = cache.getIfPresent(itemId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = changes.get();
+        BookingIntervals loaded = BookingIntervals.of(
+                bookingRepository.findAllBookingsByItemIdAndStatusIn(itemId, BUSY_STATUSES));
+        cache.put(itemId, loaded);
+        // a booking write concurrent with the load may be missing from it, such a load is not kept;
+        // writes after this check find the item loaded and update it
+        if (generation != changes.get()) {
+            cache.invalidate(itemId);
+        }
+        return loaded;
+    }
+
+    private void apply(Change change, boolean busy) {
+        changes.incrementAndGet();
+        cache.asMap().computeIfPresent(change.itemId, (itemId, intervals) -> busy
+                ? intervals.with(change.bookingId, change.start, change.end)
+                : intervals.without(change.bookingId));
+        log.debug("Занятость товара {} обновлена по бронированию {}", change.itemId, change.bookingId);
+    }
+
+    private void clear() {
+        changes.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static final class Change {
+        private final Long itemId;
+        private final long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Change(Long itemId, long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.itemId = itemId;
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.PeriodDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Booked periods of one item, half-open and sorted by start, with the latest end of every prefix.
+ * The running maximum of the ends never decreases, so the first period that reaches into a window is found
+ * by binary search just like the first period that starts after it, and a window query reads only the periods
+ * in between. Instances are immutable: a change copies the arrays, bookings change far less often than
+ * they are read.
+ */
+public final class BookingIntervals {
+
+    private final long[] ids;
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+    private final LocalDateTime[] maxEnds;
+
+    private BookingIntervals(long[] ids, LocalDateTime[] starts, LocalDateTime[] ends) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new LocalDateTime[ends.length];
+        for (int i = 0; i < ends.length; i++) {
+            maxEnds[i] = i == 0 || ends[i].isAfter(maxEnds[i - 1]) ? ends[i] : maxEnds[i - 1];
+        }
+    }
+
+    public static BookingIntervals of(List<Booking> bookings) {
+        List<Booking> sorted = new ArrayList<>(bookings);
+        sorted.sort(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId));
+
+        long[] ids = new long[sorted.size()];
+        LocalDateTime[] starts = new LocalDateTime[sorted.size()];
+        LocalDateTime[] ends = new LocalDateTime[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            ids[i] = sorted.get(i).getId();
+            starts[i] = sorted.get(i).getStart();
+            ends[i] = sorted.get(i).getEnd();
+        }
+        return new BookingIntervals(ids, starts, ends);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Adds the period of the booking or moves it, if the booking is already here.
+     */
+    public BookingIntervals with(long bookingId, LocalDateTime start, LocalDateTime end) {
+        BookingIntervals other = without(bookingId);
+        int position = other.firstStartingAfter(start, bookingId);
+
+        long[] newIds = new long[other.ids.length + 1];
+        LocalDateTime[] newStarts = new LocalDateTime[newIds.length];
+        LocalDateTime[] newEnds = new LocalDateTime[newIds.length];
+        System.arraycopy(other.ids, 0, newIds, 0, position);
+        System.arraycopy(other.starts, 0, newStarts, 0, position);
+        System.arraycopy(other.ends, 0, newEnds, 0, position);
+        newIds[position] = bookingId;
+        newStarts[position] = start;
+        newEnds[position] = end;
+        System.arraycopy(other.ids, position, newIds, position + 1, other.ids.length - position);
+        System.arraycopy(other.starts, position, newStarts, position + 1, other.ids.length - position);
+        System.arraycopy(other.ends, position, newEnds, position + 1, other.ids.length - position);
+        return new BookingIntervals(newIds, newStarts, newEnds);
+    }
+
+    public BookingIntervals without(long bookingId) {
+        int position = -1;
+        for (int i = 0; i < ids.length && position < 0; i++) {
+            if (ids[i] == bookingId) {
+                position = i;
+            }
+        }
+        if (position < 0) {
+            return this;
+        }
+
+        long[] newIds = new long[ids.length - 1];
+        LocalDateTime[] newStarts = Arrays.copyOf(starts, newIds.length);
+        LocalDateTime[] newEnds = Arrays.copyOf(ends, newIds.length);
+        System.arraycopy(ids, 0, newIds, 0, position);
+        System.arraycopy(ids, position + 1, newIds, position, newIds.length - position);
+        System.arraycopy(starts, position + 1, newStarts, position, newIds.length - position);
+        System.arraycopy(ends, position + 1, newEnds, position, newIds.length - position);
+        return new BookingIntervals(newIds, newStarts, newEnds);
+    }
+
+    /**
+     * Booked parts of {@code [from, to)}, overlapping and adjacent periods merged, in time order.
+     */
+    public List<PeriodDto> busy(LocalDateTime from, LocalDateTime to) {
+        List<PeriodDto> busy = new ArrayList<>();
+        LocalDateTime blockStart = null;
+        LocalDateTime blockEnd = null;
+        for (int i = firstEndingAfter(from); i < ids.length && starts[i].isBefore(to); i++) {
+            LocalDateTime start = starts[i].isAfter(from) ? starts[i] : from;
+            LocalDateTime end = ends[i].isBefore(to) ? ends[i] : to;
+            if (!end.isAfter(start)) {
+                continue;
+            }
+            if (blockEnd != null && !start.isAfter(blockEnd)) {
+                blockEnd = end.isAfter(blockEnd) ? end : blockEnd;
+            } else {
+                if (blockEnd != null) {
+                    busy.add(new PeriodDto(blockStart, blockEnd));
+                }
+                blockStart = start;
+                blockEnd = end;
+            }
+        }
+        if (blockEnd != null) {
+            busy.add(new PeriodDto(blockStart, blockEnd));
+        }
+        return busy;
+    }
+
+    /**
+     * Index of the first period whose prefix reaches past {@code moment}: no earlier period ends after it.
+     */
+    private int firstEndingAfter(LocalDateTime moment) {
+        int low = 0;
+        int high = maxEnds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (maxEnds[middle].isAfter(moment)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Insert position keeping the order by start and id.
+     */
+    private int firstStartingAfter(LocalDateTime start, long bookingId) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int compared = starts[middle].compareTo(start);
+            if (compared < 0 || compared == 0 && ids[middle] < bookingId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
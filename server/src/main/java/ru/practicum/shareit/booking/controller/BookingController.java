@@ -3,6 +3,8 @@ package ru.practicum.shareit.booking.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInDto;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -36,6 +38,21 @@ public class BookingController {
         return bookingService.updateStatus(bookingId, approved, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createAll(@RequestBody List<BookingInDto> bookingInDtos,
+                                                 @RequestHeader(REQ_HEADER) Long bookerId) {
+        log.info("Получен POST запрос /bookings/batch c {} бронированиями, пользователь - {}", bookingInDtos.size(),
+                bookerId);
+        return bookingService.createAll(bookingInDtos, bookerId);
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> updateStatuses(@RequestBody List<BookingApprovalDto> approvals,
+                                                      @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен PATCH запрос /bookings/batch c {} решениями, пользователь - {}", approvals.size(), userId);
+        return bookingService.updateStatuses(approvals, userId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@PathVariable Long bookingId, @RequestHeader(REQ_HEADER) Long userId) {
         log.info("Получен GET запрос /bookings' на получение бронирования с ID={}", bookingId);
@@ -44,17 +61,22 @@ public class BookingController {
 
     @GetMapping
     public List<BookingDto> getBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                        @RequestParam(name = "cursor", required = false) Long cursor,
+                                        @RequestParam(name = "size", required = false) Integer size,
                                         @RequestHeader(REQ_HEADER) Long userId) {
-        log.info("Получен GET запрос /bookings бронирований пользователя с ID={} с параметром STATE={}", userId, state);
-        return bookingService.getAllBookingByUserId(userId, state);
+        log.info("Получен GET запрос /bookings бронирований пользователя с ID={} с параметром STATE={}, cursor={}, " +
+                "size={}", userId, state, cursor, size);
+        return bookingService.getAllBookingByUserId(userId, state, cursor, size);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getBookingsOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                             @RequestParam(name = "cursor", required = false) Long cursor,
+                                             @RequestParam(name = "size", required = false) Integer size,
                                              @RequestHeader(REQ_HEADER) Long userId) {
-        log.info("Получен GET запрос /bookings/owner бронирований вещей пользователя с ID={} с параметром STATE={}",
-                userId, state);
-        return bookingService.getAllBookingsForUserItems(userId, state);
+        log.info("Получен GET запрос /bookings/owner бронирований вещей пользователя с ID={} с параметром STATE={}, " +
+                "cursor={}, size={}", userId, state, cursor, size);
+        return bookingService.getAllBookingsForUserItems(userId, state, cursor, size);
     }
 }
 
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dao;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingBatchRepository {
+
+    /**
+     * Inserts new bookings with one JDBC batch and sets their generated ids. Hibernate does not batch inserts
+     * of entities with identity ids, so the batch is sent past it: the bookings stay detached.
+     */
+    void insertAll(List<Booking> bookings);
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+
+    private static final String INSERT = "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (Booking booking : bookings) {
+                    statement.setTimestamp(1, Timestamp.valueOf(booking.getStart()));
+                    statement.setTimestamp(2, Timestamp.valueOf(booking.getEnd()));
+                    statement.setLong(3, booking.getItem().getId());
+                    statement.setLong(4, booking.getBooker().getId());
+                    statement.setString(5, booking.getStatus().name());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Booking booking : bookings) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("База данных вернула не все id созданных бронирований!");
+                        }
+                        booking.setId(keys.getLong("id"));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.booking.dao;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
@@ -8,43 +8,175 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
     @Transactional(readOnly = true)
-    List<Booking> findByBookerId(Long bookerId, Sort sort);
+    List<Booking> findAllBookingsByItemId(Long itemId);
 
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id = ?1 " +
+            "  AND b.status IN ?2")
     @Transactional(readOnly = true)
-    List<Booking> findByBookerIdAndStatus(Long bookerId, Status status, Sort sort);
+    List<Booking> findAllBookingsByItemIdAndStatusIn(Long itemId, List<Status> statuses);
 
     @Transactional(readOnly = true)
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Sort sort);
+    Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(Long itemId, Status status,
+                                                                               LocalDateTime dateTime);
 
     @Transactional(readOnly = true)
-    List<Booking> findByBookerIdAndStatusAndEndIsBefore(Long bookerId, Status status, LocalDateTime end, Sort sort);
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Long itemId, Status status,
+                                                                             LocalDateTime dateTime);
 
     @Transactional(readOnly = true)
-    List<Booking> findByBookerIdAndStatusInAndStartIsAfter(Long bookerId, List<Status> statuses, LocalDateTime start, Sort sort);
+    Optional<Booking> findByIdAndBookerId(Long bookingId, Long bookerId);
 
     @Transactional(readOnly = true)
-    List<Booking> findAllBookingsByItemId(Long itemId);
+    Optional<Booking> findByIdAndItemOwnerId(Long bookingId, Long ownerId);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.booker.id = ?1 " +
+            "  AND (?2 IS NULL OR b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @Transactional(readOnly = true)
+    List<Booking> findAllBookingsByBooker(Long bookerId, LocalDateTime cursorStart, Long cursorId,
+                                          Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.booker.id = ?1 " +
+            "  AND b.status IN ?2 " +
+            "  AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @Transactional(readOnly = true)
+    List<Booking> findAllBookingsByBookerAndStatus(Long bookerId, List<Status> statuses,
+                                                   LocalDateTime cursorStart, Long cursorId,
+                                                   Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.booker.id = ?1 " +
+            "  AND b.start < ?2 " +
+            "  AND b.end > ?2 " +
+            "  AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @Transactional(readOnly = true)
+    List<Booking> findCurrentBookingsByBooker(Long bookerId, LocalDateTime dateTime,
+                                              LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.booker.id = ?1 " +
+            "  AND b.status IN ?2 " +
+            "  AND b.end < ?3 " +
+            "  AND (?4 IS NULL OR b.start < ?4 OR (b.start = ?4 AND b.id < ?5)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @Transactional(readOnly = true)
+    List<Booking> findPastBookingsByBooker(Long bookerId, List<Status> statuses, LocalDateTime dateTime,
+                                           LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.booker.id = ?1 " +
+            "  AND b.status IN ?2 " +
+            "  AND b.start > ?3 " +
+            "  AND (?4 IS NULL OR b.start < ?4 OR (b.start = ?4 AND b.id < ?5)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @Transactional(readOnly = true)
+    List<Booking> findFutureBookingsByBooker(Long bookerId, List<Status> statuses, LocalDateTime dateTime,
+                                             LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE i.owner.id = ?1 " +
+            "  AND (?2 IS NULL OR b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @Transactional(readOnly = true)
+    List<Booking> findAllBookingsByOwner(Long ownerId, LocalDateTime cursorStart, Long cursorId,
+                                         Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE i.owner.id = ?1 " +
+            "  AND b.status IN ?2 " +
+            "  AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @Transactional(readOnly = true)
+    List<Booking> findAllBookingsByOwnerAndStatus(Long ownerId, List<Status> statuses,
+                                                  LocalDateTime cursorStart, Long cursorId,
+                                                  Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE i.owner.id = ?1 " +
+            "  AND b.start < ?2 " +
+            "  AND b.end > ?2 " +
+            "  AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @Transactional(readOnly = true)
+    List<Booking> findCurrentBookingsByOwner(Long ownerId, LocalDateTime dateTime, LocalDateTime cursorStart,
+                                             Long cursorId, Pageable pageable);
 
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN (" +
-            "      SELECT i.id FROM Item i" +
-            "      WHERE i.owner.id = ?1) " +
-            "ORDER BY b.start desc")
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE i.owner.id = ?1 " +
+            "  AND b.status IN ?2 " +
+            "  AND b.end < ?3 " +
+            "  AND (?4 IS NULL OR b.start < ?4 OR (b.start = ?4 AND b.id < ?5)) " +
+            "ORDER BY b.start DESC, b.id DESC")
     @Transactional(readOnly = true)
-    List<Booking> findAllBookingsByOwner(Long ownerIds);
+    List<Booking> findPastBookingsByOwner(Long ownerId, List<Status> statuses, LocalDateTime dateTime,
+                                          LocalDateTime cursorStart, Long cursorId, Pageable pageable);
 
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN (" +
-            "      SELECT i.id FROM Item i" +
-            "      WHERE i.owner.id = ?1) " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH b.booker " +
+            "WHERE i.owner.id = ?1 " +
             "  AND b.status IN ?2 " +
-            " ORDER BY b.start desc")
+            "  AND b.start > ?3 " +
+            "  AND (?4 IS NULL OR b.start < ?4 OR (b.start = ?4 AND b.id < ?5)) " +
+            "ORDER BY b.start DESC, b.id DESC")
     @Transactional(readOnly = true)
-    List<Booking> findAllBookingsByOwner(Long ownerId, List<Status> statuses);
+    List<Booking> findFutureBookingsByOwner(Long ownerId, List<Status> statuses, LocalDateTime dateTime,
+                                            LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN b.item i " +
+            "WHERE i.owner.id = ?1 " +
+            "  AND b.status = ?2 " +
+            "  AND b.start < ?3 " +
+            "  AND b.start = (" +
+            "      SELECT MAX(lb.start) FROM Booking lb" +
+            "      WHERE lb.item.id = b.item.id " +
+            "        AND lb.status = ?2 " +
+            "        AND lb.start < ?3)")
+    @Transactional(readOnly = true)
+    List<Booking> findLastBookingsByOwner(Long ownerId, Status status, LocalDateTime dateTime);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN b.item i " +
+            "WHERE i.owner.id = ?1 " +
+            "  AND b.status = ?2 " +
+            "  AND b.start > ?3 " +
+            "  AND b.start = (" +
+            "      SELECT MIN(nb.start) FROM Booking nb" +
+            "      WHERE nb.item.id = b.item.id " +
+            "        AND nb.status = ?2 " +
+            "        AND nb.start > ?3)")
+    @Transactional(readOnly = true)
+    List<Booking> findNextBookingsByOwner(Long ownerId, Status status, LocalDateTime dateTime);
 
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = ?1 " +
@@ -53,4 +185,34 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "  AND b.start < ?3")
     @Transactional(readOnly = true)
     List<Booking> findPastAndCurrentActiveBookingsByBookerIdAndItemId(Long userId, Long itemId, LocalDateTime dateTime);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+            "WHERE b.item.id = ?1 " +
+            "  AND b.status = 'APPROVED' " +
+            "  AND b.start < ?3 " +
+            "  AND b.end > ?2")
+    boolean existsApprovedBookingsByItemIdBetween(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE b.item.id IN ?1 " +
+            "  AND b.status = 'APPROVED' " +
+            "  AND b.start < ?3 " +
+            "  AND b.end > ?2")
+    @Transactional(readOnly = true)
+    List<Long> findApprovedItemIdsBetween(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN ?1 " +
+            "  AND b.status = 'APPROVED' " +
+            "  AND b.start < ?3 " +
+            "  AND b.end > ?2")
+    @Transactional(readOnly = true)
+    List<Booking> findApprovedBookingsByItemIdInBetween(Collection<Long> itemIds, LocalDateTime start,
+                                                        LocalDateTime end);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.id IN ?1")
+    List<Booking> findAllWithItemAndBookerByIdIn(Collection<Long> bookingIds);
 }
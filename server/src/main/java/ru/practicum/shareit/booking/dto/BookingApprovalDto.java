@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingApprovalDto {
+    @NotNull(message = "Не указан id бронирования (bookingId)!")
+    private Long bookingId;
+
+    @NotNull(message = "Не указано решение по бронированию (approved)!")
+    private Boolean approved;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one entry of a batch: the HTTP status the single-booking endpoint would answer with
+ * and either the booking or the error message.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingBatchResultDto {
+    private Integer status;
+    private BookingDto booking;
+    private String error;
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInDto;
 
@@ -13,10 +15,14 @@ public interface BookingService {
 
     BookingDto updateStatus(Long bookingId, Boolean approve, Long userid);
 
+    List<BookingBatchResultDto> createAll(List<BookingInDto> bookingInDtos, Long userId);
+
+    List<BookingBatchResultDto> updateStatuses(List<BookingApprovalDto> approvals, Long userId);
+
     BookingDto get(Long bookingId, Long userId);
 
-    List<BookingDto> getAllBookingByUserId(Long userId, String state);
+    List<BookingDto> getAllBookingByUserId(Long userId, String state, Long cursor, Integer size);
 
-    List<BookingDto> getAllBookingsForUserItems(Long userId, String state);
+    List<BookingDto> getAllBookingsForUserItems(Long userId, String state, Long cursor, Integer size);
 
 }
\ No newline at end of file
@@ -2,10 +2,15 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
@@ -16,14 +21,26 @@ import ru.practicum.shareit.exception.NotAvailableBookingException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.OwnerValidationException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.PeriodDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.page.PageRequestHandler;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.model.Status.*;
@@ -37,6 +54,11 @@ public class BookingServiceImpl implements BookingService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingMapper mapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final Validator validator;
+
+    @Value("${shareit.booking.batch.max-size:100}")
+    private int maxBatchSize;
 
     @Transactional
     @Override
@@ -46,11 +68,16 @@ public class BookingServiceImpl implements BookingService {
         validate(bookingInDto, userId);
 
         Booking booking = mapper.toBooking(bookingInDto);
+        booking.setStart(booking.getStart().truncatedTo(ChronoUnit.MICROS));
+        booking.setEnd(booking.getEnd().truncatedTo(ChronoUnit.MICROS));
+        checkNotBooked(item.getId(), booking.getStart(), booking.getEnd());
         booking.setStatus(WAITING);
         booking.setItem(item);
         booking.setBooker(user);
 
-        return mapper.toBookingDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.update(savedBooking, null);
+        return mapper.toBookingDto(savedBooking);
 
     }
 
@@ -66,7 +93,10 @@ public class BookingServiceImpl implements BookingService {
             throw new OwnerValidationException(errorMessage);
         }
 
+        Status previousStatus = booking.getStatus();
         if (WAITING.equals(booking.getStatus()) && approve) {
+            lockItem(booking.getItem().getId());
+            checkNotBooked(booking.getItem().getId(), booking.getStart(), booking.getEnd());
             booking.setStatus(APPROVED);
         } else if (WAITING.equals(booking.getStatus())) {
             booking.setStatus(REJECTED);
@@ -76,7 +106,153 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException(errorMessage);
         }
 
-        return mapper.toBookingDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.update(savedBooking, previousStatus);
+        return mapper.toBookingDto(savedBooking);
+    }
+
+    /**
+     * Creates the valid entries of the batch in one transaction and reports the others. Users, items and approved
+     * bookings are read with one query each for the whole batch, the new bookings are inserted with one JDBC batch.
+     */
+    @Transactional
+    @Override
+    public List<BookingBatchResultDto> createAll(List<BookingInDto> bookingInDtos, Long userId) {
+        checkBatchSize(bookingInDtos.size());
+        User user = checkUserExistence(userId);
+
+        List<BookingInDto> filledEntries = bookingInDtos.stream()
+                .filter(bookingInDto -> bookingInDto != null && bookingInDto.getItemId() != null
+                        && bookingInDto.getStart() != null && bookingInDto.getEnd() != null)
+                .collect(Collectors.toList());
+        Map<Long, Item> items = itemRepository.findAllById(filledEntries.stream()
+                        .map(BookingInDto::getItemId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> approvedBookings = findApprovedBookings(items.keySet(), filledEntries.stream()
+                .map(bookingInDto -> new PeriodDto(bookingInDto.getStart().truncatedTo(ChronoUnit.MICROS),
+                        bookingInDto.getEnd().truncatedTo(ChronoUnit.MICROS)))
+                .collect(Collectors.toList()));
+
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        List<Booking> newBookings = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (BookingInDto bookingInDto : bookingInDtos) {
+            try {
+                validateEntry(bookingInDto);
+                if (!bookingInDto.getEnd().isAfter(bookingInDto.getStart())) {
+                    String errorMessage = "Дата окончания бронирования (end) должна быть позже даты начала (start)!";
+                    log.warn(errorMessage);
+                    throw new ValidationException(errorMessage);
+                }
+                Item item = items.get(bookingInDto.getItemId());
+                if (item == null) {
+                    String errorMessage = String.format("Вещь с id = %d не найдена!", bookingInDto.getItemId());
+                    log.warn(errorMessage);
+                    throw new NotFoundException(errorMessage);
+                }
+                validate(item, userId);
+
+                Booking booking = mapper.toBooking(bookingInDto);
+                booking.setStart(booking.getStart().truncatedTo(ChronoUnit.MICROS));
+                booking.setEnd(booking.getEnd().truncatedTo(ChronoUnit.MICROS));
+                checkNotBooked(item.getId(), booking.getStart(), booking.getEnd(),
+                        approvedBookings.getOrDefault(item.getId(), List.of()));
+                booking.setStatus(WAITING);
+                booking.setItem(item);
+                booking.setBooker(user);
+
+                newBookings.add(booking);
+                positions.add(results.size());
+                results.add(null);
+            } catch (NotFoundException | ValidationException | NotAvailableBookingException e) {
+                results.add(toFailure(e));
+            }
+        }
+
+        bookingRepository.insertAll(newBookings);
+        for (int i = 0; i < newBookings.size(); i++) {
+            Booking savedBooking = newBookings.get(i);
+            bookingIntervalIndex.update(savedBooking, null);
+            results.set(positions.get(i), new BookingBatchResultDto(HttpStatus.OK.value(),
+                    mapper.toBookingDto(savedBooking), null));
+        }
+        log.debug("Создано {} из {} бронирований пакета пользователя с id = {}", newBookings.size(),
+                bookingInDtos.size(), userId);
+        return results;
+    }
+
+    /**
+     * Applies the decisions of the batch in order and reports each of them. Items of the approved bookings are
+     * locked together, so an approval here and a concurrent one elsewhere see each other like single approvals do.
+     * The changed bookings are flushed as one JDBC batch of updates.
+     */
+    @Transactional
+    @Override
+    public List<BookingBatchResultDto> updateStatuses(List<BookingApprovalDto> approvals, Long userId) {
+        checkBatchSize(approvals.size());
+
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(approvals.stream()
+                        .filter(approval -> approval != null && approval.getBookingId() != null)
+                        .map(BookingApprovalDto::getBookingId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<Booking> approving = approvals.stream()
+                .filter(approval -> approval != null && Boolean.TRUE.equals(approval.getApproved()))
+                .map(approval -> bookings.get(approval.getBookingId()))
+                .filter(booking -> booking != null && WAITING.equals(booking.getStatus()) && isOwner(userId, booking))
+                .collect(Collectors.toList());
+        Set<Long> itemIds = approving.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        if (!itemIds.isEmpty()) {
+            itemRepository.findAllByIdInForUpdate(itemIds);
+        }
+        Map<Long, List<Booking>> approvedBookings = findApprovedBookings(itemIds, approving.stream()
+                .map(booking -> new PeriodDto(booking.getStart(), booking.getEnd()))
+                .collect(Collectors.toList()));
+
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        for (BookingApprovalDto approval : approvals) {
+            try {
+                validateEntry(approval);
+                Booking booking = bookings.get(approval.getBookingId());
+                if (booking == null) {
+                    String errorMessage = String.format("Бронирование с id = %d не найдено!", approval.getBookingId());
+                    log.warn(errorMessage);
+                    throw new NotFoundException(errorMessage);
+                }
+                if (!isOwner(userId, booking)) {
+                    String errorMessage = String.format("Статус бронирования может изменить только владелец вещи " +
+                            "с id = %d!", booking.getItem().getId());
+                    log.warn(errorMessage);
+                    throw new OwnerValidationException(errorMessage);
+                }
+
+                Status previousStatus = booking.getStatus();
+                if (WAITING.equals(booking.getStatus()) && approval.getApproved()) {
+                    List<Booking> itemBookings = approvedBookings.computeIfAbsent(booking.getItem().getId(),
+                            itemId -> new ArrayList<>());
+                    checkNotBooked(booking.getItem().getId(), booking.getStart(), booking.getEnd(), itemBookings);
+                    booking.setStatus(APPROVED);
+                    itemBookings.add(booking);
+                } else if (WAITING.equals(booking.getStatus())) {
+                    booking.setStatus(REJECTED);
+                } else {
+                    String errorMessage = String.format("Невозможно изменить статус для бронирования с id = %d!",
+                            booking.getId());
+                    log.warn(errorMessage);
+                    throw new ValidationException(errorMessage);
+                }
+
+                bookingIntervalIndex.update(booking, previousStatus);
+                results.add(new BookingBatchResultDto(HttpStatus.OK.value(), mapper.toBookingDto(booking), null));
+            } catch (NotFoundException | ValidationException | OwnerValidationException
+                     | NotAvailableBookingException e) {
+                results.add(toFailure(e));
+            }
+        }
+        return results;
     }
 
     @Transactional(readOnly = true)
@@ -100,79 +276,163 @@ public class BookingServiceImpl implements BookingService {
 
     @Transactional(readOnly = true)
     @Override
-    public List<BookingDto> getAllBookingByUserId(Long userId, String state) {
+    public List<BookingDto> getAllBookingByUserId(Long userId, String state, Long cursor, Integer size) {
         checkUserExistence(userId);
         checkStateExistence(state);
 
+        PageRequest pageRequest = PageRequestHandler.getSeekPageRequest(size);
+        Booking cursorBooking = getCursorBooking(cursor, id -> bookingRepository.findByIdAndBookerId(id, userId));
+        LocalDateTime cursorStart = cursorBooking == null ? null : cursorBooking.getStart();
+        Long cursorId = cursorBooking == null ? null : cursorBooking.getId();
+
         LocalDateTime dateTime = LocalDateTime.now();
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
+        List<Booking> bookings;
         switch (State.valueOf(state)) {
             case CURRENT:
-                return bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(userId, dateTime, dateTime,
-                                sort).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findCurrentBookingsByBooker(userId, dateTime, cursorStart, cursorId,
+                        pageRequest);
+                break;
             case PAST:
-                return bookingRepository.findByBookerIdAndStatusAndEndIsBefore(userId, APPROVED, dateTime,
-                                sort).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findPastBookingsByBooker(userId, List.of(APPROVED), dateTime,
+                        cursorStart, cursorId, pageRequest);
+                break;
             case FUTURE:
-                return bookingRepository.findByBookerIdAndStatusInAndStartIsAfter(userId, List.of(APPROVED, WAITING),
-                                dateTime, sort).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findFutureBookingsByBooker(userId, List.of(APPROVED, WAITING), dateTime,
+                        cursorStart, cursorId, pageRequest);
+                break;
             case WAITING:
-                return bookingRepository.findByBookerIdAndStatus(userId, Status.WAITING, sort).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllBookingsByBookerAndStatus(userId, List.of(WAITING), cursorStart,
+                        cursorId, pageRequest);
+                break;
             case REJECTED:
-                return bookingRepository.findByBookerIdAndStatus(userId, Status.REJECTED, sort).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllBookingsByBookerAndStatus(userId, List.of(REJECTED), cursorStart,
+                        cursorId, pageRequest);
+                break;
             default:
-                return bookingRepository.findByBookerId(userId, sort).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllBookingsByBooker(userId, cursorStart, cursorId, pageRequest);
         }
+
+        return bookings.stream()
+                .map(mapper::toBookingDto)
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<BookingDto> getAllBookingsForUserItems(Long userId, String state) {
+    public List<BookingDto> getAllBookingsForUserItems(Long userId, String state, Long cursor, Integer size) {
         checkUserExistence(userId);
         checkStateExistence(state);
 
+        PageRequest pageRequest = PageRequestHandler.getSeekPageRequest(size);
+        Booking cursorBooking = getCursorBooking(cursor, id -> bookingRepository.findByIdAndItemOwnerId(id, userId));
+        LocalDateTime cursorStart = cursorBooking == null ? null : cursorBooking.getStart();
+        Long cursorId = cursorBooking == null ? null : cursorBooking.getId();
+
         LocalDateTime dateTime = LocalDateTime.now();
+        List<Booking> bookings;
         switch (State.valueOf(state)) {
             case CURRENT:
-                return bookingRepository.findAllBookingsByOwner(userId).stream()
-                        .filter(booking -> booking.getStart().isBefore(dateTime) && booking.getEnd().isAfter(dateTime))
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findCurrentBookingsByOwner(userId, dateTime, cursorStart, cursorId,
+                        pageRequest);
+                break;
             case PAST:
-                return bookingRepository.findAllBookingsByOwner(userId, List.of(APPROVED)).stream()
-                        .filter(booking -> booking.getEnd().isBefore(dateTime))
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findPastBookingsByOwner(userId, List.of(APPROVED), dateTime,
+                        cursorStart, cursorId, pageRequest);
+                break;
             case FUTURE:
-                return bookingRepository.findAllBookingsByOwner(userId, List.of(APPROVED, WAITING)).stream()
-                        .filter(booking -> booking.getStart().isAfter(dateTime))
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findFutureBookingsByOwner(userId, List.of(APPROVED, WAITING), dateTime,
+                        cursorStart, cursorId, pageRequest);
+                break;
             case WAITING:
-                return bookingRepository.findAllBookingsByOwner(userId, List.of(WAITING)).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllBookingsByOwnerAndStatus(userId, List.of(WAITING), cursorStart,
+                        cursorId, pageRequest);
+                break;
             case REJECTED:
-                return bookingRepository.findAllBookingsByOwner(userId, List.of(REJECTED)).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllBookingsByOwnerAndStatus(userId, List.of(REJECTED), cursorStart,
+                        cursorId, pageRequest);
+                break;
             default:
-                return bookingRepository.findAllBookingsByOwner(userId).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllBookingsByOwner(userId, cursorStart, cursorId, pageRequest);
+        }
+
+        return bookings.stream()
+                .map(mapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The cursor must be a booking of the listing: a booking of another user is reported just like a missing one.
+     * No cursor is the first page, which the queries read with a {@code null} start and id.
+     */
+    private Booking getCursorBooking(Long cursor, Function<Long, Optional<Booking>> findInListing) {
+        if (cursor == null) {
+            return null;
+        }
+
+        return findInListing.apply(cursor)
+                .orElseThrow(() -> {
+                    String errorMessage = String.format("Бронирование для курсора cursor = %d не найдено!", cursor);
+                    log.warn(errorMessage);
+                    return new ValidationException(errorMessage);
+                });
+    }
+
+    private void checkBatchSize(int size) {
+        if (size == 0 || size > maxBatchSize) {
+            String errorMessage = String.format("В пакете должно быть от 1 до %d записей, передано %d!", maxBatchSize,
+                    size);
+            log.warn(errorMessage);
+            throw new ValidationException(errorMessage);
+        }
+    }
+
+    private void validateEntry(Object entry) {
+        if (entry == null) {
+            String errorMessage = "Пустая запись в пакете!";
+            log.warn(errorMessage);
+            throw new ValidationException(errorMessage);
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(entry);
+        if (!violations.isEmpty()) {
+            String errorMessage = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+            log.warn(errorMessage);
+            throw new ValidationException(errorMessage);
+        }
+    }
+
+    /**
+     * Approved bookings of the items overlapping the span of all the periods, grouped by item.
+     */
+    private Map<Long, List<Booking>> findApprovedBookings(Set<Long> itemIds, List<PeriodDto> periods) {
+        if (itemIds.isEmpty() || periods.isEmpty()) {
+            return new HashMap<>();
+        }
+        LocalDateTime start = periods.stream()
+                .map(PeriodDto::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = periods.stream()
+                .map(PeriodDto::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        return bookingRepository.findApprovedBookingsByItemIdInBetween(itemIds, start, end).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), HashMap::new,
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    private BookingBatchResultDto toFailure(RuntimeException e) {
+        HttpStatus status;
+        if (e instanceof NotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof OwnerValidationException) {
+            status = HttpStatus.FORBIDDEN;
+        } else {
+            status = HttpStatus.BAD_REQUEST;
         }
+        return new BookingBatchResultDto(status.value(), null, e.getMessage());
     }
 
     private void checkStateExistence(String state) {
@@ -215,6 +475,43 @@ public class BookingServiceImpl implements BookingService {
                 });
     }
 
+    /**
+     * Approvals of one item run one after another: the item row stays locked until the transaction ends, so the
+     * overlap check of the next approval sees this one committed. Approvals of different items do not wait.
+     */
+    private void lockItem(Long itemId) {
+        itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> {
+                    String errorMessage = String.format("Вещь с id = %d не найдена!", itemId);
+                    log.warn(errorMessage);
+                    return new NotFoundException(errorMessage);
+                });
+    }
+
+    /**
+     * Periods are half-open, a booking may start at the moment the previous one ends. Bookings are saved with
+     * microseconds, the precision of the database, so that the ends compare equal.
+     */
+    private void checkNotBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsApprovedBookingsByItemIdBetween(itemId, start, end)) {
+            String errorMessage = String.format("Вещь с id = %d уже забронирована на период с %s по %s!",
+                    itemId, start, end);
+            log.warn(errorMessage);
+            throw new NotAvailableBookingException(errorMessage);
+        }
+    }
+
+    private void checkNotBooked(Long itemId, LocalDateTime start, LocalDateTime end, List<Booking> approvedBookings) {
+        boolean booked = approvedBookings.stream()
+                .anyMatch(booking -> booking.getStart().isBefore(end) && booking.getEnd().isAfter(start));
+        if (booked) {
+            String errorMessage = String.format("Вещь с id = %d уже забронирована на период с %s по %s!",
+                    itemId, start, end);
+            log.warn(errorMessage);
+            throw new NotAvailableBookingException(errorMessage);
+        }
+    }
+
     private boolean isOwner(Long userId, Booking booking) {
         return itemRepository.getReferenceById(booking.getItem().getId()).getOwner().getId().equals(userId);
     }
@@ -224,15 +521,17 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private void validate(BookingInDto bookingInputDto, Long userId) {
-        Item item = itemRepository.getReferenceById(bookingInputDto.getItemId());
+        validate(itemRepository.getReferenceById(bookingInputDto.getItemId()), userId);
+    }
 
+    private void validate(Item item, Long userId) {
         if (Boolean.FALSE.equals(item.getAvailable())) {
-            String errorMessage = String.format("Вещь с id = %d недоступна для бронирования!", bookingInputDto.getItemId());
+            String errorMessage = String.format("Вещь с id = %d недоступна для бронирования!", item.getId());
             log.warn(errorMessage);
             throw new NotAvailableBookingException(errorMessage);
         }
 
-        if (itemRepository.getReferenceById(bookingInputDto.getItemId()).getOwner().getId().equals(userId)) {
+        if (item.getOwner().getId().equals(userId)) {
             String errorMessage = "Вы не можете забронировать вещь, для которой являетесь владельцем!";
             log.warn(errorMessage);
             throw new NotFoundException(errorMessage);
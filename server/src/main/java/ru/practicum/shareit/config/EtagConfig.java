@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETag for GET responses of items, users and requests, computed from the response body. A request with a matching
+ * {@code If-None-Match} gets an empty 304, so the gateway can revalidate its cached copy without transferring
+ * the body again.
+ * <p>
+ * The ETags are weak: Tomcat does not compress a response with a strong ETag, which would leave
+ * the large lists under these paths uncompressed.
+ */
+@Configuration
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items/*", "/users/*", "/requests/*");
+        return registration;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile, the binary form of JSON, for request bodies the gateway sends as {@code application/x-jackson-smile}.
+ * The bean takes the place of the Smile converter Spring MVC adds on its own, after the JSON one, so a request
+ * accepting any type is still answered with JSON; unlike that default it follows the {@code spring.jackson.*}
+ * settings, as the JSON converter does.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -2,15 +2,18 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.*;
 
 
@@ -53,9 +56,27 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ItemDto>> searchItem(@RequestParam("text") String text) {
-        log.info("Получен  GET запрос /items/search с телом {}", text);
-        return ResponseEntity.ok().body(itemService.search(text));
+    public ResponseEntity<List<ItemDto>> searchItem(
+            @RequestParam("text") String text,
+            @RequestParam(value = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(value = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(value = "from", required = false) Integer from,
+            @RequestParam(value = "size", required = false) Integer size) {
+        log.info("Получен  GET запрос /items/search с телом {}, start = {}, end = {}, from = {}, size = {}", text,
+                start, end, from, size);
+        return ResponseEntity.ok().body(itemService.search(text, start, end, from, size));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<ItemAvailabilityDto> getAvailability(
+            @PathVariable("itemId") Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(REQ_HEADER) Long userId) {
+        log.info("Получен GET запрос /items/{}/availability с {} по {}", itemId, from, to);
+        return ResponseEntity.ok().body(itemService.getAvailability(itemId, userId, from, to));
     }
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Free and busy periods of an item within {@code [from, to)}. Waiting bookings count as busy,
+ * periods are half-open and in time order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemAvailabilityDto {
+
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private List<PeriodDto> free;
+
+    private List<PeriodDto> busy;
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
@@ -9,5 +11,9 @@ public interface ItemMapper {
 
     ItemDto toItemDto(Item item);
 
+    @Named("toItemDtoWithoutComments")
+    @Mapping(target = "comments", ignore = true)
+    ItemDto toItemDtoWithoutComments(Item item);
+
     Item toItem(ItemDto itemDto);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -8,5 +9,14 @@ import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @Query("SELECT c FROM Comment c " +
+            "WHERE c.item.id = ?1")
     List<Comment> findCommentsByItemId(Long itemId);
+
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.item i " +
+            "JOIN FETCH c.author " +
+            "WHERE i.owner.id = ?1 " +
+            "ORDER BY c.created")
+    List<Comment> findCommentsByItemOwnerId(Long ownerId);
 }
@@ -1,20 +1,77 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwnerId(Long ownerId);
 
+    List<Item> findByOwnerIdOrderById(Long ownerId);
+
+    List<Item> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    /**
+     * Rows are locked in id order, so two transactions locking overlapping sets of items cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN ?1 ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(Collection<Long> ids);
+
+    @Query("SELECT DISTINCT i FROM Item i " +
+            "LEFT JOIN FETCH i.comments c " +
+            "LEFT JOIN FETCH c.author " +
+            "WHERE i.requestId IN ?1 " +
+            "ORDER BY i.id")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
     @Query("SELECT i FROM Item i " +
             "WHERE (upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
-            "OR upper(i.description) LIKE upper(concat('%', ?1, '%')))" +
-            "AND i.available = true")
-    List<Item> search(String text);
-}
\ No newline at end of file
+            "OR upper(i.description) LIKE upper(concat('%', ?1, '%'))) " +
+            "AND i.available = true " +
+            "ORDER BY CASE WHEN upper(i.name) LIKE upper(concat('%', ?1, '%')) THEN 0 ELSE 1 END, i.id")
+    List<Item> search(String text, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i " +
+            "WHERE (i.name ILIKE concat('%', ?1, '%') ESCAPE '\\' " +
+            "OR i.description ILIKE concat('%', ?1, '%') ESCAPE '\\') " +
+            "AND i.is_available = true " +
+            "ORDER BY CASE WHEN i.name ILIKE concat('%', ?1, '%') ESCAPE '\\' THEN 0 ELSE 1 END, i.id",
+            nativeQuery = true)
+    List<Item> searchByTrigram(String text, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE (upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
+            "OR upper(i.description) LIKE upper(concat('%', ?1, '%'))) " +
+            "AND i.available = true " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.item = i AND b.status = 'APPROVED' " +
+            "AND b.start < ?3 AND b.end > ?2) " +
+            "ORDER BY CASE WHEN upper(i.name) LIKE upper(concat('%', ?1, '%')) THEN 0 ELSE 1 END, i.id")
+    List<Item> searchNotBookedBetween(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i " +
+            "WHERE (i.name ILIKE concat('%', ?1, '%') ESCAPE '\\' " +
+            "OR i.description ILIKE concat('%', ?1, '%') ESCAPE '\\') " +
+            "AND i.is_available = true " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id AND b.status = 'APPROVED' " +
+            "AND b.start_date < ?3 AND b.end_date > ?2) " +
+            "ORDER BY CASE WHEN i.name ILIKE concat('%', ?1, '%') ESCAPE '\\' THEN 0 ELSE 1 END, i.id",
+            nativeQuery = true)
+    List<Item> searchNotBookedBetweenByTrigram(String text, LocalDateTime start, LocalDateTime end,
+                                               Pageable pageable);
+}
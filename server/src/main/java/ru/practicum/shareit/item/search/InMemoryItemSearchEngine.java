@@ -0,0 +1,297 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trigram index over item names and descriptions kept in the server memory.
+ * Posting lists only narrow down the candidates, every candidate is verified by a substring check,
+ * so the results are the same as the {@code LIKE '%text%'} query of
+ * {@link ItemRepository#search(String, Pageable)}. Only the requested page is loaded from the database;
+ * items that turn out to be deleted or changed there are fixed in the index and the page is searched again.
+ * Bookings are not kept here: a search for a period asks the database which of the best matches are booked.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int BATCH_SIZE = 1000;
+    private static final Comparator<Match> RANKING = Comparator.<Match>comparingInt(match -> match.rank)
+            .thenComparingLong(match -> match.itemId);
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        long lastId = 0L;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, BATCH_SIZE));
+            batch.forEach(this::put);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        log.info("Построен поисковый индекс товаров: {} товаров, {} триграмм", documents.size(), postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return search(text, pageable, itemIds -> List.of());
+    }
+
+    @Override
+    public List<Item> search(String text, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        return search(text, pageable, itemIds -> bookingRepository.findApprovedItemIdsBetween(itemIds, start, end));
+    }
+
+    private List<Item> search(String text, Pageable pageable, Function<List<Long>, List<Long>> findBooked) {
+        String query = normalize(text);
+        while (true) {
+            List<Long> ids = findPage(query, pageable.getOffset(), pageable.getPageSize(), findBooked);
+            if (ids.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            boolean stale = false;
+            for (Long id : ids) {
+                Item item = items.get(id);
+                if (item == null) {
+                    remove(id);
+                    stale = true;
+                } else if (!new Document(item).matches(query)) {
+                    put(item);
+                    stale = true;
+                }
+            }
+            if (!stale) {
+                return ids.stream()
+                        .map(items::get)
+                        .collect(Collectors.toList());
+            }
+            log.debug("Поисковый индекс товаров обновлен по данным БД, повтор поиска по тексту {}", text);
+        }
+    }
+
+    /**
+     * Indexes the item right away, so the current transaction sees it in the search results,
+     * and once more after the commit, in case a concurrent search dropped the not yet committed item as stale.
+     */
+    @Override
+    public void index(Item item) {
+        put(item);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(item);
+                }
+            });
+        }
+    }
+
+    private synchronized void remove(Long itemId) {
+        documents.remove(itemId);
+    }
+
+    private synchronized void put(Item item) {
+        Document document = new Document(item);
+        Document previous = documents.put(item.getId(), document);
+
+        Set<String> grams = document.grams();
+        if (previous != null) {
+            grams.removeAll(previous.grams());
+        }
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(item.getId());
+        }
+    }
+
+    /**
+     * Ids of the page among the matches that {@code findBooked} does not return. Only the best matches are checked:
+     * while booked ones leave the page short, the number of ranked matches taken doubles, so a search needs
+     * a few batched booking queries whatever the size of the catalogue.
+     */
+    private List<Long> findPage(String query, long offset, int limit, Function<List<Long>, List<Long>> findBooked) {
+        long bound = Math.min(offset + limit, Integer.MAX_VALUE);
+        Set<Long> checked = new HashSet<>();
+        Set<Long> booked = new HashSet<>();
+        long window = bound;
+        while (true) {
+            List<Long> top = findTop(query, window);
+            List<Long> unchecked = new ArrayList<>();
+            for (Long id : top) {
+                if (checked.add(id)) {
+                    unchecked.add(id);
+                }
+            }
+            for (int from = 0; from < unchecked.size(); from += BATCH_SIZE) {
+                booked.addAll(findBooked.apply(unchecked.subList(from, Math.min(from + BATCH_SIZE, unchecked.size()))));
+            }
+
+            List<Long> free = top.stream()
+                    .filter(id -> !booked.contains(id))
+                    .collect(Collectors.toList());
+            if (free.size() >= bound || top.size() < window) {
+                return free.stream()
+                        .skip(offset)
+                        .limit(limit)
+                        .collect(Collectors.toList());
+            }
+            window = Math.min(window * 2, Integer.MAX_VALUE);
+        }
+    }
+
+    private List<Long> findTop(String query, long bound) {
+        Set<Long> seen = new HashSet<>();
+        PriorityQueue<Match> top = new PriorityQueue<>(RANKING.reversed());
+        for (Document document : findCandidates(query)) {
+            if (document.matches(query) && seen.add(document.itemId)) {
+                top.add(new Match(document.itemId, document.name.contains(query) ? 0 : 1));
+                if (top.size() > bound) {
+                    top.poll();
+                }
+            }
+        }
+
+        return top.stream()
+                .sorted(RANKING)
+                .map(match -> match.itemId)
+                .collect(Collectors.toList());
+    }
+
+    private Collection<Document> findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.values();
+        }
+
+        PostingList candidates = null;
+        for (String gram : grams(query)) {
+            PostingList postingList = postings.get(gram);
+            if (postingList == null) {
+                return List.of();
+            }
+            if (candidates == null || postingList.size() < candidates.size()) {
+                candidates = postingList;
+            }
+        }
+
+        List<Document> result = new ArrayList<>();
+        for (long itemId : candidates.snapshot()) {
+            Document document = documents.get(itemId);
+            if (document != null) {
+                result.add(document);
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Match {
+        private final long itemId;
+        private final int rank;
+
+        private Match(long itemId, int rank) {
+            this.itemId = itemId;
+            this.rank = rank;
+        }
+    }
+
+    private static final class Document {
+        private final long itemId;
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        private Document(Item item) {
+            this.itemId = item.getId();
+            this.name = normalize(item.getName());
+            this.description = normalize(item.getDescription());
+            this.available = Boolean.TRUE.equals(item.getAvailable());
+        }
+
+        private boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = InMemoryItemSearchEngine.grams(name);
+            grams.addAll(InMemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+    }
+
+    /**
+     * Append-only list of item ids. Writers are serialized by {@link #put(Item)}, readers take a snapshot
+     * without locking: the array is published before the size, so a reader never sees unwritten slots.
+     * Ids of items that no longer contain the trigram stay in the list and are dropped by the verification step.
+     */
+    private static final class PostingList {
+        private volatile long[] ids = new long[4];
+        private volatile int size;
+
+        private int size() {
+            return size;
+        }
+
+        private void add(long itemId) {
+            long[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = itemId;
+            ids = current;
+            size = size + 1;
+        }
+
+        private long[] snapshot() {
+            int currentSize = size;
+            return Arrays.copyOf(ids, currentSize);
+        }
+    }
+}
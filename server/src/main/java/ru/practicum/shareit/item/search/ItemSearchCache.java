@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of search result pages keyed by the lowercased text and the page.
+ * A write to an item evicts only the pages of texts contained in its old or new name or description,
+ * because the results of any other text cannot change.
+ */
+@Slf4j
+@Component
+public class ItemSearchCache {
+
+    private final Cache<SearchKey, List<ItemDto>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public ItemSearchCache(@Value("${shareit.search.cache.max-size:1000}") long maxSize,
+                           @Value("${shareit.search.cache.ttl:60s}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "itemSearch");
+    }
+
+    public List<ItemDto> get(String text, Pageable pageable, Supplier<List<ItemDto>> loader) {
+        SearchKey key = new SearchKey(text.toLowerCase(Locale.ROOT), pageable.getOffset(), pageable.getPageSize());
+        List<ItemDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return new ArrayList<>(cached);
+        }
+
+        long generation = invalidations.get();
+        List<ItemDto> loaded = loader.get();
+        // a page loaded concurrently with an item write may already be stale, so it is not cached
+        if (generation == invalidations.get()) {
+            cache.put(key, new ArrayList<>(loaded));
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts pages affected by an item write. {@code previous} is the state before the write
+     * or {@code null} for a new item and for changes outside of the item fields, like a new comment.
+     * Pages are evicted once more when the transaction completes: pages loaded from the old state
+     * while it was running must not survive the commit, pages with uncommitted data must not survive the rollback.
+     */
+    public void invalidate(ItemState previous, Item item) {
+        ItemState current = new ItemState(item);
+        if (current.equals(previous)) {
+            return;
+        }
+
+        evict(previous, current);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(previous, current);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops all pages now and after the transaction, for writes that remove items in bulk,
+     * like the cascade of a deleted user.
+     */
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void evict(ItemState previous, ItemState current) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> current.contains(key.getText())
+                || previous != null && previous.contains(key.getText()));
+        log.debug("Из кэша поиска удалены страницы, затронутые изменением товара {}", current);
+    }
+
+    private void clear() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        log.debug("Кэш поиска очищен");
+    }
+
+    @Data
+    private static class SearchKey {
+        private final String text;
+        private final long offset;
+        private final int size;
+    }
+
+    /**
+     * Fields of an item that end up in its search results.
+     */
+    @Data
+    public static class ItemState {
+        private final String name;
+        private final String description;
+        private final Boolean available;
+
+        public ItemState(Item item) {
+            this.name = item.getName();
+            this.description = item.getDescription();
+            this.available = item.getAvailable();
+        }
+
+        private boolean contains(String text) {
+            return name != null && name.toLowerCase(Locale.ROOT).contains(text)
+                    || description != null && description.toLowerCase(Locale.ROOT).contains(text);
+        }
+    }
+}
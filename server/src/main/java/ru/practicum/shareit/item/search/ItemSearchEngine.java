@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    /**
+     * Returns a page of available items containing the text in the name or the description.
+     * Items matched by the name go first, items with the same rank are ordered by id.
+     */
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Same as {@link #search(String, Pageable)} without the items that have an approved booking overlapping
+     * {@code [start, end)}. Booked items are dropped before paging, so a page is short only at the end of the results.
+     */
+    List<Item> search(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    void index(Item item);
+}
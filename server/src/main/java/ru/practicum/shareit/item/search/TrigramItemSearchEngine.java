@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trgm")
+@RequiredArgsConstructor
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.searchByTrigram(escape(text), pageable);
+    }
+
+    @Override
+    public List<Item> search(String text, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        return itemRepository.searchNotBookedBetweenByTrigram(escape(text), start, end, pageable);
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    private String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,7 +16,9 @@ public interface ItemService {
 
     List<ItemDto> getAll(Long userId);
 
-    List<ItemDto> search(String text);
+    List<ItemDto> search(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size);
 
     CommentDto addComment(CommentDto commentDto, Long itemId, Long userId);
+
+    ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
 }
@@ -2,15 +2,21 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.OwnerValidationException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.exception.WasNotOwnerException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.repository.CommentRepository;
@@ -18,12 +24,16 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.page.PageRequestHandler;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.model.Status.APPROVED;
@@ -40,6 +50,12 @@ public class ItemServiceImpl implements ItemService {
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    @Value("${shareit.search.max-size:100}")
+    private int maxSearchSize;
 
     @Transactional
     @Override
@@ -47,8 +63,11 @@ public class ItemServiceImpl implements ItemService {
         checkUser(userId);
         Item item = itemMapper.toItem(itemDto);
         item.setOwner(userRepository.getReferenceById(userId));
-        log.debug("Создан товар с id = {} и id хозяина = {}", item.getId(), userId);
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        itemSearchCache.invalidate(null, savedItem);
+        log.debug("Создан товар с id = {} и id хозяина = {}", savedItem.getId(), userId);
+        return itemMapper.toItemDto(savedItem);
     }
 
     @Override
@@ -62,6 +81,7 @@ public class ItemServiceImpl implements ItemService {
             log.warn(errorMessage);
             throw new OwnerValidationException(errorMessage);
         }
+        ItemSearchCache.ItemState previous = new ItemSearchCache.ItemState(item);
         if (itemDto.getDescription() != null) {
             item.setDescription(itemDto.getDescription());
         }
@@ -71,8 +91,11 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        itemSearchCache.invalidate(previous, savedItem);
         log.debug("Изменен товар с id = {} и id хозяина = {}", itemId, userId);
-        return itemMapper.toItemDto(itemRepository.save(item));
+        return itemMapper.toItemDto(savedItem);
     }
 
     @Transactional(readOnly = true)
@@ -81,9 +104,10 @@ public class ItemServiceImpl implements ItemService {
         checkItem(id);
         Item item = itemRepository.getReferenceById(id);
         ItemDto itemDto = itemMapper.toItemDto(item);
-        if (itemRepository.getReferenceById(id).getOwner().getId().equals(userId)) {
-            itemDto.setLastBooking(bookingMapper.toBookingWithBookerIdDto(getLastBooking(id, LocalDateTime.now())));
-            itemDto.setNextBooking(bookingMapper.toBookingWithBookerIdDto(getNextBooking(id, LocalDateTime.now())));
+        if (item.getOwner().getId().equals(userId)) {
+            LocalDateTime dateTime = LocalDateTime.now();
+            itemDto.setLastBooking(bookingMapper.toBookingWithBookerIdDto(getLastBooking(id, dateTime)));
+            itemDto.setNextBooking(bookingMapper.toBookingWithBookerIdDto(getNextBooking(id, dateTime)));
         }
         log.debug("Получен товар с id = {}", id);
         return itemDto;
@@ -92,39 +116,56 @@ public class ItemServiceImpl implements ItemService {
     @Transactional(readOnly = true)
     @Override
     public List<ItemDto> getAll(Long userId) {
-        List<ItemDto> allItems = itemRepository.findByOwnerId(userId).stream()
-                .map(itemMapper::toItemDto)
-                .sorted(Comparator.comparing(ItemDto::getId))
+        LocalDateTime dateTime = LocalDateTime.now();
+
+        List<ItemDto> allItems = itemRepository.findByOwnerIdOrderById(userId).stream()
+                .map(itemMapper::toItemDtoWithoutComments)
                 .collect(Collectors.toList());
 
-        LocalDateTime dateTime = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = groupByItemId(
+                bookingRepository.findLastBookingsByOwner(userId, APPROVED, dateTime));
+        Map<Long, Booking> nextBookings = groupByItemId(
+                bookingRepository.findNextBookingsByOwner(userId, APPROVED, dateTime));
+        Map<Long, List<CommentDto>> comments = commentRepository.findCommentsByItemOwnerId(userId).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
 
         for (ItemDto itemDto : allItems) {
-            Booking lastBooking = getLastBooking(itemDto.getId(), dateTime);
-            Booking nextBooking = getNextBooking(itemDto.getId(), dateTime);
+            Booking lastBooking = lastBookings.get(itemDto.getId());
+            Booking nextBooking = nextBookings.get(itemDto.getId());
 
             itemDto.setLastBooking(lastBooking != null ? bookingMapper.toBookingWithBookerIdDto(lastBooking) : null);
             itemDto.setNextBooking(nextBooking != null ? bookingMapper.toBookingWithBookerIdDto(nextBooking) : null);
-
-            itemDto.setComments(commentRepository.findCommentsByItemId(itemDto.getId()).stream()
-                    .map(commentMapper::toCommentDto)
-                    .collect(Collectors.toList()));
+            itemDto.setComments(comments.getOrDefault(itemDto.getId(), new ArrayList<>()));
         }
-
+        log.debug("Получен список из {} товаров хозяина с id = {}", allItems.size(), userId);
         return allItems;
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<ItemDto> search(String text) {
+    public List<ItemDto> search(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size) {
+        if (start != null || end != null) {
+            checkPeriod(start, end);
+        }
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        log.debug("Запрошен список товаров");
-        return itemRepository.search(text.toLowerCase())
+        PageRequest pageRequest = PageRequestHandler.getPageRequest(from != null ? from : 0,
+                size != null ? Math.min(size, maxSearchSize) : maxSearchSize, Sort.unsorted());
+        if (start != null) {
+            log.debug("Запрошен список свободных с {} по {} товаров по тексту {} (from = {}, size = {})", start, end,
+                    text, from, size);
+            // booking writes do not evict cached pages, so pages for a period are always searched afresh
+            return itemSearchEngine.search(text, start, end, pageRequest).stream()
+                    .map(itemMapper::toItemDto)
+                    .collect(Collectors.toList());
+        }
+        log.debug("Запрошен список товаров по тексту {} (from = {}, size = {})", text, from, size);
+        return itemSearchCache.get(text, pageRequest, () -> itemSearchEngine.search(text, pageRequest)
                 .stream()
                 .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Transactional
@@ -147,7 +188,23 @@ public class ItemServiceImpl implements ItemService {
         comment.setAuthor(userRepository.getReferenceById(userId));
         comment.setCreated(dateTime);
 
-        return commentMapper.toCommentDto(commentRepository.save(comment));
+        CommentDto savedComment = commentMapper.toCommentDto(commentRepository.save(comment));
+        itemSearchCache.invalidate(null, comment.getItem());
+        return savedComment;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
+        checkUser(userId);
+        checkItem(itemId);
+        if (!to.isAfter(from)) {
+            String error = String.format("Конец периода (to = %s) должен быть позже начала (from = %s)!", to, from);
+            log.warn(error);
+            throw new ValidationException(error);
+        }
+        log.debug("Запрошена занятость товара с id = {} с {} по {}", itemId, from, to);
+        return bookingIntervalIndex.getAvailability(itemId, from, to);
     }
 
     private void checkUser(Long userId) {
@@ -158,6 +215,20 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    private void checkPeriod(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            String error = "Для поиска свободных вещей нужны и начало (start), и конец (end) периода!";
+            log.warn(error);
+            throw new ValidationException(error);
+        }
+        if (!end.isAfter(start)) {
+            String error = String.format("Конец периода (end = %s) должен быть позже начала (start = %s)!", end,
+                    start);
+            log.warn(error);
+            throw new ValidationException(error);
+        }
+    }
+
     private void checkItem(Long itemId) {
         if (!itemRepository.existsById(itemId)) {
             String error = String.format("Указанный товар " + itemId + " не найден!");
@@ -166,25 +237,19 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private Booking getLastBooking(Long itemId, LocalDateTime dateTime) {
-        List<Booking> approvedItemBookings = bookingRepository.findAllBookingsByItemId(itemId).stream()
-                .filter(booking -> APPROVED.equals(booking.getStatus()))
-                .collect(Collectors.toList());
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first.getId() > second.getId() ? first : second));
+    }
 
-        return approvedItemBookings.stream()
-                .filter(booking -> booking.getStart().isBefore(dateTime))
-                .max(Comparator.comparing(Booking::getStart))
+    private Booking getLastBooking(Long itemId, LocalDateTime dateTime) {
+        return bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(itemId, APPROVED, dateTime)
                 .orElse(null);
     }
 
     private Booking getNextBooking(Long itemId, LocalDateTime dateTime) {
-        List<Booking> approvedItemBookings = bookingRepository.findAllBookingsByItemId(itemId).stream()
-                .filter(booking -> APPROVED.equals(booking.getStatus()))
-                .collect(Collectors.toList());
-
-        return approvedItemBookings.stream()
-                .filter(booking -> booking.getStart().isAfter(dateTime))
-                .min(Comparator.comparing(Booking::getStart))
+        return bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(itemId, APPROVED, dateTime)
                 .orElse(null);
     }
 }
@@ -30,4 +30,9 @@ public class PageRequestHandler {
 
         return pageRequest;
     }
-}
\ No newline at end of file
+
+    public static PageRequest getSeekPageRequest(Integer size) {
+        validatePageRequestParams(null, size);
+        return PageRequest.of(0, size != null ? size : Integer.MAX_VALUE);
+    }
+}
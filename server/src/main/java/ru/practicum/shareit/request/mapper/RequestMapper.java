@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -10,6 +12,10 @@ public interface RequestMapper {
 
     ItemRequestDto toItemRequestDto(ItemRequest itemRequest);
 
+    @Named("toItemRequestDtoWithoutItems")
+    @Mapping(target = "items", ignore = true)
+    ItemRequestDto toItemRequestDtoWithoutItems(ItemRequest itemRequest);
+
     ItemRequest toItemRequest(ItemRequestDto itemRequestDto);
 
 }
\ No newline at end of file
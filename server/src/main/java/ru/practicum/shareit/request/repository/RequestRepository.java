@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -10,4 +12,9 @@ import java.util.List;
 public interface RequestRepository extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findAllByRequesterId(Long userId);
+
+    @Query("SELECT r FROM ItemRequest r " +
+            "JOIN FETCH r.requester u " +
+            "WHERE r.requester.id <> ?1")
+    List<ItemRequest> findAllByRequesterIdNot(Long userId, Pageable pageable);
 }
\ No newline at end of file
@@ -7,6 +7,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.page.PageRequestHandler;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.RequestMapper;
@@ -15,8 +18,10 @@ import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,6 +32,8 @@ public class RequestServiceImpl implements RequestService {
     private final RequestRepository requestRepository;
     private final UserRepository userRepository;
     private final RequestMapper requestMapper;
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
 
     @Transactional
     @Override
@@ -45,8 +52,7 @@ public class RequestServiceImpl implements RequestService {
     public List<ItemRequestDto> getOwn(Long userId) {
         checkUserExistence(userId);
 
-        return requestRepository.findAllByRequesterId(userId).stream()
-                .map(requestMapper::toItemRequestDto)
+        return toItemRequestDtos(requestRepository.findAllByRequesterId(userId)).stream()
                 .sorted(Comparator.comparing(ItemRequestDto::getCreated).reversed())
                 .collect(Collectors.toList());
     }
@@ -57,10 +63,7 @@ public class RequestServiceImpl implements RequestService {
         Sort sort = Sort.by(Sort.Direction.DESC, "created");
         PageRequest pageRequest = PageRequestHandler.getPageRequest(from, size, sort);
 
-        return requestRepository.findAll().stream()
-                .filter(itemRequest -> !itemRequest.getRequester().getId().equals(userId))
-                .map(requestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
+        return toItemRequestDtos(requestRepository.findAllByRequesterIdNot(userId, pageRequest));
     }
 
     @Transactional(readOnly = true)
@@ -72,6 +75,27 @@ public class RequestServiceImpl implements RequestService {
         return requestMapper.toItemRequestDto(requestRepository.getReferenceById(requestId));
     }
 
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestDto itemRequestDto = requestMapper.toItemRequestDtoWithoutItems(itemRequest);
+                    itemRequestDto.setItems(items.getOrDefault(itemRequest.getId(), new ArrayList<>()));
+                    return itemRequestDto;
+                })
+                .collect(Collectors.toList());
+    }
+
     private void checkUserExistence(Long userId) {
         if (!userRepository.existsById(userId)) {
             String errorMessage = String.format("Пользователь c id = %d не найден!", userId);
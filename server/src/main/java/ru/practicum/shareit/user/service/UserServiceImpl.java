@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
 import ru.practicum.shareit.exception.EmailDuplicateException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
@@ -21,6 +23,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchCache itemSearchCache;
 
     @Transactional
     @Override
@@ -45,6 +49,7 @@ public class UserServiceImpl implements UserService {
             throw new EmailDuplicateException(error);
         }
         User oldUser = userRepository.getReferenceById(userId);
+        boolean renamed = user.getName() != null && !user.getName().equals(oldUser.getName());
         if (user.getName() != null) {
             oldUser.setName(user.getName());
         }
@@ -52,7 +57,12 @@ public class UserServiceImpl implements UserService {
             oldUser.setEmail(user.getEmail());
         }
         log.debug("Изменен пользователь с id = {} и почтой {}", userId, user.getEmail());
-        return userMapper.toUserDto(userRepository.save(oldUser));
+        UserDto updated = userMapper.toUserDto(userRepository.save(oldUser));
+        if (renamed) {
+            // cached search pages carry the names of comment authors
+            itemSearchCache.invalidateAll();
+        }
+        return updated;
     }
 
     @Transactional
@@ -72,6 +82,9 @@ public class UserServiceImpl implements UserService {
     public void delete(Long id) {
         log.debug("Удален пользователь с id = {}", id);
         userRepository.deleteById(id);
+        // the items of the user and all bookings of the user and of the items are deleted by the database cascade
+        bookingIntervalIndex.invalidateAll();
+        itemSearchCache.invalidateAll();
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,19 @@
+-- approved and waiting bookings of an item by start: last/next booking, overlap checks, availability
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+-- bookings of a booker, newest first: keyset pages by (start_date, id)
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date, id);
+
+-- items of an owner in id order, the owner side of the bookings joins through it
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+
+-- answers to item requests
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+-- own requests, newest first
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created_date);
+
+-- requests of other users, newest first: read in index order and stop after the page
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created_date DESC);
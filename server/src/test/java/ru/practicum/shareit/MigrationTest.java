@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Databases created by the former schema.sql are baselined at V1 and must end up with the same indexes
+ * as a database migrated from scratch. db/schema.sql of the tests is that script as it was released.
+ */
+public class MigrationTest {
+
+    private static final String LOCATION = "classpath:db/migration/common";
+    private static final Pattern CREATE_INDEX = Pattern.compile("CREATE INDEX IF NOT EXISTS (\\w+)");
+
+    @Test
+    void shouldKeepFirstMigrationSameAsFormerSchema() throws IOException {
+        assertThat(read(new ClassPathResource("db/migration/common/V1__create_tables.sql")))
+                .isEqualTo(read(new ClassPathResource("db/schema.sql")));
+    }
+
+    @Test
+    void shouldCreateEveryIndexOnBaselinedDatabase() throws Exception {
+        JdbcDataSource dataSource = schemaSqlDatabase("baselined");
+        migrate(dataSource, true);
+
+        assertThat(indexes(dataSource)).containsAll(declaredIndexes());
+    }
+
+    @Test
+    void shouldCreateSameIndexesOnNewAndBaselinedDatabase() throws Exception {
+        JdbcDataSource created = dataSource("created");
+        migrate(created, false);
+        JdbcDataSource baselined = schemaSqlDatabase("baselined-same");
+        migrate(baselined, true);
+
+        assertThat(indexes(baselined)).isEqualTo(indexes(created));
+    }
+
+    /**
+     * A database as the former schema.sql left it.
+     */
+    private JdbcDataSource schemaSqlDatabase(String name) throws SQLException {
+        JdbcDataSource dataSource = dataSource(name);
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection,
+                    new ClassPathResource("db/schema.sql"));
+        }
+        return dataSource;
+    }
+
+    private void migrate(JdbcDataSource dataSource, boolean baseline) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(LOCATION)
+                .baselineOnMigrate(baseline)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private JdbcDataSource dataSource(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("admin");
+        return dataSource;
+    }
+
+    private Set<String> indexes(JdbcDataSource dataSource) throws SQLException {
+        return new TreeSet<>(new JdbcTemplate(dataSource).queryForList(
+                "SELECT lower(index_name) FROM information_schema.indexes WHERE table_schema = 'PUBLIC'",
+                String.class));
+    }
+
+    private Set<String> declaredIndexes() throws IOException {
+        Set<String> names = new TreeSet<>();
+        for (Resource migration : new PathMatchingResourcePatternResolver().getResources(LOCATION + "/*.sql")) {
+            Matcher matcher = CREATE_INDEX.matcher(read(migration));
+            while (matcher.find()) {
+                names.add(matcher.group(1).toLowerCase());
+            }
+        }
+        assertThat(names).contains("idx_bookings_item_status_start");
+        return names;
+    }
+
+    private String read(Resource resource) throws IOException {
+        return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,278 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every repository query against tables seeded with a few thousand rows and checks with EXPLAIN that the
+ * database answers it from indexes instead of reading a whole table.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:query-plans")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryPlanTest {
+
+    private static final int USERS = 2_000;
+    private static final int REQUESTS = 2_000;
+    private static final int ITEMS = 10_000;
+    private static final int BOOKINGS = 50_000;
+    private static final int COMMENTS = 10_000;
+
+    /**
+     * Substring search with a leading wildcard cannot use a b-tree index: on PostgreSQL the trigram indexes of
+     * V3 serve it, the default engine keeps the items in memory.
+     */
+    private static final Set<String> FULL_SCAN_QUERIES = Set.of(
+            "ItemRepository.search",
+            "ItemRepository.searchByTrigram",
+            "ItemRepository.searchNotBookedBetween",
+            "ItemRepository.searchNotBookedBetweenByTrigram");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(BookingRepository.class, ItemRepository.class,
+            CommentRepository.class, RequestRepository.class, UserRepository.class);
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final RequestRepository requestRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RecordingStatementInspector statementInspector;
+    private final TransactionTemplate transactionTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Pageable page = PageRequest.of(0, 10);
+    private final List<Status> statuses = List.of(Status.WAITING, Status.APPROVED);
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime start = now.minusDays(BOOKINGS / 2);
+
+        insert("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", USERS,
+                id -> new Object[]{id, "user" + id, "user" + id + "@plan.ru"});
+        insert("INSERT INTO requests (id, description, requester_id, created_date) VALUES (?, ?, ?, ?)", REQUESTS,
+                id -> new Object[]{id, "request " + id, userOf(id), Timestamp.valueOf(start.plusHours(id))});
+        insert("INSERT INTO items (id, name, description, is_available, owner_id, request_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", ITEMS,
+                id -> new Object[]{id, "item " + id, "description " + id, true, userOf(id),
+                        id % 10 == 0 ? id % REQUESTS + 1 : null});
+        insert("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", BOOKINGS,
+                id -> new Object[]{id, Timestamp.valueOf(start.plusDays(id / 2)),
+                        Timestamp.valueOf(start.plusDays(id / 2 + 1)), id % ITEMS + 1, userOf(id + 1),
+                        Status.values()[(int) (id % Status.values().length)].name()});
+        insert("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)", COMMENTS,
+                id -> new Object[]{id, "comment " + id, id % ITEMS + 1, userOf(id + 2), Timestamp.valueOf(now)});
+
+        // row counts and selectivity for the optimizer
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldReadLargeTablesThroughIndexes() {
+        return queries().entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+                    statementInspector.clear();
+                    query.getValue().run();
+
+                    for (String sql : statementInspector.statements()) {
+                        String plan = explain(sql);
+                        assertFalse(plan.contains("tableScan"),
+                                query.getKey() + " читает таблицу целиком:\n" + plan);
+                    }
+                }));
+    }
+
+    @Test
+    void shouldCheckEveryRepositoryQuery() {
+        Set<String> declared = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .map(method -> repository.getSimpleName() + "." + method.getName()))
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> checked = new TreeSet<>(queries().keySet());
+        checked.addAll(FULL_SCAN_QUERIES);
+
+        assertEquals(declared, checked);
+    }
+
+    private Map<String, Runnable> queries() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("BookingRepository.findAllBookingsByItemId", () -> bookingRepository.findAllBookingsByItemId(1L));
+        queries.put("BookingRepository.findAllBookingsByItemIdAndStatusIn",
+                () -> bookingRepository.findAllBookingsByItemIdAndStatusIn(1L, statuses));
+        queries.put("BookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc",
+                () -> bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(1L,
+                        Status.APPROVED, now));
+        queries.put("BookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc",
+                () -> bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(1L,
+                        Status.APPROVED, now));
+        queries.put("BookingRepository.findByIdAndBookerId", () -> bookingRepository.findByIdAndBookerId(1L, 1L));
+        queries.put("BookingRepository.findByIdAndItemOwnerId", () -> bookingRepository.findByIdAndItemOwnerId(1L, 1L));
+        queries.put("BookingRepository.findAllBookingsByBooker",
+                () -> bookingRepository.findAllBookingsByBooker(1L, null, null, page));
+        queries.put("BookingRepository.findAllBookingsByBookerAndStatus",
+                () -> bookingRepository.findAllBookingsByBookerAndStatus(1L, statuses, null, null, page));
+        queries.put("BookingRepository.findCurrentBookingsByBooker",
+                () -> bookingRepository.findCurrentBookingsByBooker(1L, now, null, null, page));
+        queries.put("BookingRepository.findPastBookingsByBooker",
+                () -> bookingRepository.findPastBookingsByBooker(1L, statuses, now, null, null, page));
+        queries.put("BookingRepository.findFutureBookingsByBooker",
+                () -> bookingRepository.findFutureBookingsByBooker(1L, statuses, now, null, null, page));
+        queries.put("BookingRepository.findAllBookingsByOwner",
+                () -> bookingRepository.findAllBookingsByOwner(1L, null, null, page));
+        queries.put("BookingRepository.findAllBookingsByOwnerAndStatus",
+                () -> bookingRepository.findAllBookingsByOwnerAndStatus(1L, statuses, null, null, page));
+        queries.put("BookingRepository.findCurrentBookingsByOwner",
+                () -> bookingRepository.findCurrentBookingsByOwner(1L, now, null, null, page));
+        queries.put("BookingRepository.findPastBookingsByOwner",
+                () -> bookingRepository.findPastBookingsByOwner(1L, statuses, now, null, null, page));
+        queries.put("BookingRepository.findFutureBookingsByOwner",
+                () -> bookingRepository.findFutureBookingsByOwner(1L, statuses, now, null, null, page));
+        queries.put("BookingRepository.findLastBookingsByOwner",
+                () -> bookingRepository.findLastBookingsByOwner(1L, Status.APPROVED, now));
+        queries.put("BookingRepository.findNextBookingsByOwner",
+                () -> bookingRepository.findNextBookingsByOwner(1L, Status.APPROVED, now));
+        queries.put("BookingRepository.findPastAndCurrentActiveBookingsByBookerIdAndItemId",
+                () -> bookingRepository.findPastAndCurrentActiveBookingsByBookerIdAndItemId(1L, 1L, now));
+        queries.put("BookingRepository.existsApprovedBookingsByItemIdBetween",
+                () -> bookingRepository.existsApprovedBookingsByItemIdBetween(1L, now, now.plusDays(1)));
+        queries.put("BookingRepository.findApprovedBookingsByItemIdInBetween",
+                () -> bookingRepository.findApprovedBookingsByItemIdInBetween(List.of(1L, 2L, 3L), now,
+                        now.plusDays(1)));
+        queries.put("BookingRepository.findAllWithItemAndBookerByIdIn",
+                () -> bookingRepository.findAllWithItemAndBookerByIdIn(List.of(1L, 2L, 3L)));
+        queries.put("BookingRepository.findApprovedItemIdsBetween",
+                () -> bookingRepository.findApprovedItemIdsBetween(List.of(1L, 2L, 3L), now, now.plusDays(1)));
+
+        queries.put("ItemRepository.findByOwnerId", () -> itemRepository.findByOwnerId(1L));
+        queries.put("ItemRepository.findByOwnerIdOrderById", () -> itemRepository.findByOwnerIdOrderById(1L));
+        queries.put("ItemRepository.findByIdGreaterThanOrderById",
+                () -> itemRepository.findByIdGreaterThanOrderById(ITEMS / 2L, PageRequest.of(0, 500)));
+        queries.put("ItemRepository.findByIdForUpdate",
+                () -> transactionTemplate.executeWithoutResult(status -> itemRepository.findByIdForUpdate(1L)));
+        queries.put("ItemRepository.findAllByIdInForUpdate",
+                () -> transactionTemplate.executeWithoutResult(status ->
+                        itemRepository.findAllByIdInForUpdate(List.of(1L, 2L, 3L))));
+        queries.put("ItemRepository.findAllByRequestIdIn", () -> itemRepository.findAllByRequestIdIn(List.of(1L, 2L)));
+
+        queries.put("CommentRepository.findCommentsByItemId", () -> commentRepository.findCommentsByItemId(1L));
+        queries.put("CommentRepository.findCommentsByItemOwnerId",
+                () -> commentRepository.findCommentsByItemOwnerId(1L));
+
+        queries.put("RequestRepository.findAllByRequesterId", () -> requestRepository.findAllByRequesterId(1L));
+        queries.put("RequestRepository.findAllByRequesterIdNot",
+                () -> requestRepository.findAllByRequesterIdNot(1L,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"))));
+
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("user1@plan.ru"));
+
+        return queries;
+    }
+
+    private void insert(String sql, int rows, RowValues rowValues) {
+        List<Object[]> batch = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            batch.add(rowValues.of(id));
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    private static long userOf(long id) {
+        return id % USERS + 1;
+    }
+
+    /**
+     * Parameters stay unbound: the plan depends on the statement only.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    private interface RowValues {
+        Object[] of(long id);
+    }
+
+    /**
+     * Keeps the SQL Hibernate sends to the database.
+     */
+    static class RecordingStatementInspector implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementInspectorConfig {
+
+        @Bean
+        RecordingStatementInspector recordingStatementInspector() {
+            return new RecordingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(RecordingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
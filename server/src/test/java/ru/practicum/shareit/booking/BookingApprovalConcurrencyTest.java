@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingInDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotAvailableBookingException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The owner approves many overlapping bookings of one item at once: whatever the interleaving, the approved
+ * bookings of an item never overlap.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-approval")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingApprovalConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 20;
+    private static final int BATCHES = 4;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final List<UserDto> bookers = new ArrayList<>();
+    private UserDto owner;
+
+    @BeforeAll
+    void setUp() {
+        owner = userService.create(new User(null, "owner", "owner@approval.ru"));
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userService.create(new User(null, "booker" + i, "booker" + i + "@approval.ru")));
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldApproveOnlyOneOfSamePeriodBookings() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Booking> approved = approveConcurrently(i -> new LocalDateTime[]{start, start.plusDays(1)});
+
+            assertEquals(1, approved.size());
+        }
+    }
+
+    @Test
+    void shouldNeverApproveOverlappingBookings() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // every booking overlaps its neighbours by four hours and nothing else
+            List<Booking> approved = approveConcurrently(i -> new LocalDateTime[]{
+                    start.plusHours(6L * i), start.plusHours(6L * i + 10)});
+
+            assertFalse(approved.isEmpty());
+            for (int i = 1; i < approved.size(); i++) {
+                assertFalse(approved.get(i).getStart().isBefore(approved.get(i - 1).getEnd()),
+                        "Пересекаются подтвержденные бронирования " + approved.get(i - 1).getId() + " и "
+                                + approved.get(i).getId());
+            }
+        }
+    }
+
+    @Test
+    void shouldNeverApproveOverlappingBookingsInConcurrentBatches() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Long> bookingIds = createBookings(i -> new LocalDateTime[]{
+                    start.plusHours(6L * i), start.plusHours(6L * i + 10)});
+
+            // neighbours go to different batches, so every batch races the others for each of its bookings
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int batch = 0; batch < BATCHES; batch++) {
+                List<BookingApprovalDto> approvals = new ArrayList<>();
+                for (int i = batch; i < bookingIds.size(); i += BATCHES) {
+                    approvals.add(new BookingApprovalDto(bookingIds.get(i), true));
+                }
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    return (int) bookingService.updateStatuses(approvals, owner.getId()).stream()
+                            .filter(result -> result.getStatus() == 200)
+                            .count();
+                }));
+            }
+            startGate.countDown();
+
+            int successes = 0;
+            for (Future<Integer> result : results) {
+                successes += result.get();
+            }
+
+            List<Booking> approved = findApproved(bookingIds);
+            assertEquals(successes, approved.size());
+            assertFalse(approved.isEmpty());
+            for (int i = 1; i < approved.size(); i++) {
+                assertFalse(approved.get(i).getStart().isBefore(approved.get(i - 1).getEnd()),
+                        "Пересекаются подтвержденные бронирования " + approved.get(i - 1).getId() + " и "
+                                + approved.get(i).getId());
+            }
+        }
+    }
+
+    /**
+     * Creates one waiting booking of a new item per booker, approves all of them at the same moment and returns the
+     * approved ones ordered by start.
+     */
+    private List<Booking> approveConcurrently(IntFunction<LocalDateTime[]> period) throws Exception {
+        List<Long> bookingIds = createBookings(period);
+
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            results.add(executor.submit(() -> {
+                startGate.await();
+                try {
+                    bookingService.updateStatus(bookingId, true, owner.getId());
+                    return true;
+                } catch (NotAvailableBookingException e) {
+                    return false;
+                }
+            }));
+        }
+        startGate.countDown();
+
+        int successes = 0;
+        for (Future<Boolean> result : results) {
+            successes += result.get() ? 1 : 0;
+        }
+
+        List<Booking> approved = findApproved(bookingIds);
+        assertEquals(successes, approved.size());
+        assertTrue(approved.size() <= THREADS);
+        return approved;
+    }
+
+    /**
+     * Creates one waiting booking of a new item per booker and returns their ids.
+     */
+    private List<Long> createBookings(IntFunction<LocalDateTime[]> period) {
+        ItemDto item = itemService.create(new ItemDto(null, "item", "description", true, null), owner.getId());
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime[] startAndEnd = period.apply(i);
+            bookingIds.add(bookingService.create(new BookingInDto(item.getId(), startAndEnd[0], startAndEnd[1]),
+                    bookers.get(i).getId()).getId());
+        }
+        return bookingIds;
+    }
+
+    private List<Booking> findApproved(List<Long> bookingIds) {
+        return bookingRepository.findAllById(bookingIds).stream()
+                .filter(booking -> Status.APPROVED.equals(booking.getStatus()))
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.toList());
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.http.MediaType;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInDto;
 import ru.practicum.shareit.booking.model.Status;
@@ -101,7 +103,7 @@ public class BookingControllerTest {
 
     @Test
     void getAllBookingsByUserIdTest() throws Exception {
-        when(bookingService.getAllBookingByUserId(any(Long.class), any(String.class)))
+        when(bookingService.getAllBookingByUserId(any(Long.class), any(String.class), any(), any()))
                 .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings")
@@ -123,7 +125,7 @@ public class BookingControllerTest {
 
     @Test
     void getAllBookingsForUserItemsTest() throws Exception {
-        when(bookingService.getAllBookingsForUserItems(any(Long.class), any(String.class)))
+        when(bookingService.getAllBookingsForUserItems(any(Long.class), any(String.class), any(), any()))
                 .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings/owner?from=0&size=10")
@@ -163,4 +165,41 @@ public class BookingControllerTest {
                         is(bookingDto.getEnd().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))))
                 .andExpect(jsonPath("$.status", is(bookingDto.getStatus().toString())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAllTest() throws Exception {
+        when(bookingService.createAll(any(), any(Long.class)))
+                .thenReturn(List.of(new BookingBatchResultDto(200, bookingDto, null),
+                        new BookingBatchResultDto(404, null, "Вещь с id = 5 не найдена!")));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookingInDto, bookingInDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].error", is("Вещь с id = 5 не найдена!")));
+    }
+
+    @Test
+    void updateStatusesTest() throws Exception {
+        bookingDto.setStatus(Status.APPROVED);
+        when(bookingService.updateStatuses(List.of(new BookingApprovalDto(1L, true)), 1L))
+                .thenReturn(List.of(new BookingBatchResultDto(200, bookingDto, null)));
+
+        mvc.perform(patch("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(new BookingApprovalDto(1L, true))))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.status", is("APPROVED")));
+    }
+}
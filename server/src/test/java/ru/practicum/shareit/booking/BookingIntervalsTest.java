@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.availability.BookingIntervals;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.PeriodDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BookingIntervalsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+    private static final int HORIZON = 500;
+
+    @Test
+    void shouldMergeOverlappingAndAdjacentPeriods() {
+        BookingIntervals intervals = BookingIntervals.of(List.of(booking(1L, 10, 20), booking(2L, 20, 30),
+                booking(3L, 15, 25), booking(4L, 40, 50)));
+
+        assertEquals(List.of(period(10, 30), period(40, 50)), intervals.busy(at(0), at(100)));
+    }
+
+    @Test
+    void shouldClipPeriodsToWindow() {
+        BookingIntervals intervals = BookingIntervals.of(List.of(booking(1L, 0, 100), booking(2L, 120, 130)));
+
+        assertEquals(List.of(period(50, 100)), intervals.busy(at(50), at(110)));
+        assertEquals(List.of(), intervals.busy(at(100), at(120)));
+    }
+
+    @Test
+    void shouldFindLongPeriodStartedBeforeShortOnes() {
+        BookingIntervals intervals = BookingIntervals.of(List.of(booking(1L, 0, 1000), booking(2L, 10, 11),
+                booking(3L, 20, 21)));
+
+        assertEquals(List.of(period(500, 600)), intervals.busy(at(500), at(600)));
+    }
+
+    @Test
+    void shouldAddMoveAndRemovePeriods() {
+        BookingIntervals intervals = BookingIntervals.of(List.of(booking(1L, 10, 20)))
+                .with(2L, at(30), at(40))
+                .with(1L, at(50), at(60));
+
+        assertEquals(2, intervals.size());
+        assertEquals(List.of(period(30, 40), period(50, 60)), intervals.busy(at(0), at(100)));
+        assertEquals(List.of(period(50, 60)), intervals.without(2L).busy(at(0), at(100)));
+        assertEquals(2, intervals.without(3L).size());
+    }
+
+    @Test
+    void shouldMatchFullScanOnRandomChanges() {
+        Random random = new Random(42);
+        Map<Long, int[]> periods = new LinkedHashMap<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            int start = random.nextInt(HORIZON);
+            int end = start + 1 + random.nextInt(random.nextBoolean() ? 10 : 100);
+            periods.put(id, new int[]{start, end});
+            bookings.add(booking(id, start, end));
+        }
+        BookingIntervals intervals = BookingIntervals.of(bookings);
+
+        for (int step = 0; step < 500; step++) {
+            long id = 1 + random.nextInt(70);
+            if (random.nextInt(3) == 0) {
+                periods.remove(id);
+                intervals = intervals.without(id);
+            } else {
+                int start = random.nextInt(HORIZON);
+                int end = start + 1 + random.nextInt(50);
+                periods.put(id, new int[]{start, end});
+                intervals = intervals.with(id, at(start), at(end));
+            }
+
+            int from = random.nextInt(HORIZON);
+            int to = from + 1 + random.nextInt(200);
+            assertEquals(scan(periods, from, to), intervals.busy(at(from), at(to)));
+        }
+    }
+
+    private static List<PeriodDto> scan(Map<Long, int[]> periods, int from, int to) {
+        boolean[] busy = new boolean[to - from];
+        for (int[] period : periods.values()) {
+            for (int minute = Math.max(period[0], from); minute < Math.min(period[1], to); minute++) {
+                busy[minute - from] = true;
+            }
+        }
+
+        List<PeriodDto> result = new ArrayList<>();
+        for (int minute = 0; minute < busy.length; minute++) {
+            if (busy[minute] && (minute == 0 || !busy[minute - 1])) {
+                int end = minute;
+                while (end < busy.length && busy[end]) {
+                    end++;
+                }
+                result.add(period(from + minute, from + end));
+            }
+        }
+        return result;
+    }
+
+    private static Booking booking(Long id, int start, int end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(at(start));
+        booking.setEnd(at(end));
+        return booking;
+    }
+
+    private static PeriodDto period(int start, int end) {
+        return new PeriodDto(at(start), at(end));
+    }
+
+    private static LocalDateTime at(int minute) {
+        return BASE.plusMinutes(minute);
+    }
+}
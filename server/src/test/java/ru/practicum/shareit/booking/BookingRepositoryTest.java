@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class BookingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final PageRequest unpaged = PageRequest.of(0, Integer.MAX_VALUE);
+
+    private User owner;
+    private Booking pastBooking;
+    private Booking currentBooking;
+    private Booking futureBooking;
+    private Booking waitingBooking;
+    private Booking otherOwnerBooking;
+
+    @BeforeEach
+    public void setUp() {
+        owner = entityManager.persist(new User(null, "owner", "owner@repo.ru"));
+        User otherOwner = entityManager.persist(new User(null, "other", "other@repo.ru"));
+        User booker = entityManager.persist(new User(null, "booker", "booker@repo.ru"));
+
+        Item item = entityManager.persist(new Item(null, "item", "description", true, owner, null, null));
+        Item otherItem = entityManager.persist(new Item(null, "other item", "description", true, otherOwner,
+                null, null));
+
+        pastBooking = entityManager.persist(new Booking(null, now.minusDays(3), now.minusDays(2), item, booker,
+                Status.APPROVED));
+        currentBooking = entityManager.persist(new Booking(null, now.minusDays(1), now.plusDays(1), item, booker,
+                Status.APPROVED));
+        futureBooking = entityManager.persist(new Booking(null, now.plusDays(2), now.plusDays(3), item, booker,
+                Status.APPROVED));
+        waitingBooking = entityManager.persist(new Booking(null, now.plusDays(4), now.plusDays(5), item, booker,
+                Status.WAITING));
+        otherOwnerBooking = entityManager.persist(new Booking(null, now.minusDays(1), now.plusDays(1), otherItem,
+                booker, Status.APPROVED));
+        entityManager.flush();
+    }
+
+    @Test
+    public void shouldReturnOnlyOwnerBookingsSortedByStartDesc() {
+        List<Booking> bookings = bookingRepository.findAllBookingsByOwner(owner.getId(), null,
+                null, unpaged);
+
+        assertThat(bookings).containsExactly(waitingBooking, futureBooking, currentBooking, pastBooking);
+    }
+
+    @Test
+    public void shouldReturnCurrentBookingsByOwner() {
+        List<Booking> bookings = bookingRepository.findCurrentBookingsByOwner(owner.getId(), now, null,
+                null, unpaged);
+
+        assertThat(bookings).containsExactly(currentBooking);
+    }
+
+    @Test
+    public void shouldReturnPastBookingsByOwner() {
+        List<Booking> bookings = bookingRepository.findPastBookingsByOwner(owner.getId(), List.of(Status.APPROVED),
+                now, null, null, unpaged);
+
+        assertThat(bookings).containsExactly(pastBooking);
+    }
+
+    @Test
+    public void shouldReturnFutureBookingsByOwner() {
+        List<Booking> bookings = bookingRepository.findFutureBookingsByOwner(owner.getId(),
+                List.of(Status.APPROVED, Status.WAITING), now, null, null, unpaged);
+
+        assertThat(bookings).containsExactly(waitingBooking, futureBooking);
+    }
+
+    @Test
+    public void shouldStartFirstPageWithLatestBookingWhateverItsStart() {
+        Booking latestBooking = entityManager.persist(new Booking(null,
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 500_000_000), LocalDateTime.MAX.withNano(0),
+                waitingBooking.getItem(), waitingBooking.getBooker(), Status.WAITING));
+        entityManager.flush();
+
+        List<Booking> firstPage = bookingRepository.findAllBookingsByOwner(owner.getId(), null, null,
+                PageRequest.of(0, 2));
+
+        assertThat(firstPage).containsExactly(latestBooking, waitingBooking);
+    }
+
+    @Test
+    public void shouldSeekFromCursorWhenPagingOwnerBookings() {
+        List<Booking> firstPage = bookingRepository.findAllBookingsByOwner(owner.getId(), null,
+                null, PageRequest.of(0, 2));
+        Booking cursor = firstPage.get(firstPage.size() - 1);
+        List<Booking> secondPage = bookingRepository.findAllBookingsByOwner(owner.getId(), cursor.getStart(),
+                cursor.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).containsExactly(waitingBooking, futureBooking);
+        assertThat(secondPage).containsExactly(currentBooking, pastBooking);
+    }
+
+    @Test
+    public void shouldBreakStartTiesByIdWhenPagingBookerBookings() {
+        Booking sameStartBooking = entityManager.persist(new Booking(null, currentBooking.getStart(),
+                now.plusDays(1), currentBooking.getItem(), currentBooking.getBooker(), Status.APPROVED));
+        entityManager.flush();
+
+        List<Booking> firstPage = bookingRepository.findAllBookingsByBooker(currentBooking.getBooker().getId(),
+                null, null, PageRequest.of(0, 3));
+        Booking cursor = firstPage.get(firstPage.size() - 1);
+        List<Booking> secondPage = bookingRepository.findAllBookingsByBooker(currentBooking.getBooker().getId(),
+                cursor.getStart(), cursor.getId(), PageRequest.of(0, 3));
+
+        assertThat(firstPage).containsExactly(waitingBooking, futureBooking, sameStartBooking);
+        assertThat(secondPage).containsExactly(otherOwnerBooking, currentBooking, pastBooking);
+    }
+}
@@ -21,7 +21,8 @@ public class BookingServiceImplTest {
 
     @Test
     void shouldExceptionWhenUpdateStatusOfNotExistingBooking() {
-        BookingService bookingService = new BookingServiceImpl(mockBookingRepository, null, null, null);
+        BookingService bookingService = new BookingServiceImpl(mockBookingRepository, null, null, null, null,
+                null);
         Long bookingId = 1L;
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInDto;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -20,9 +22,14 @@ import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.Assert.assertThrows;
 
 @SpringBootTest
@@ -169,7 +176,7 @@ public class BookingServiceTest {
         bookingService.create(bookingInDto1, bookerDto.getId());
 
         ValidationException exp = assertThrows(ValidationException.class,
-                () -> bookingService.getAllBookingByUserId(bookerDto.getId(), "UNKNOWN_STATE"));
+                () -> bookingService.getAllBookingByUserId(bookerDto.getId(), "UNKNOWN_STATE", null, null));
         assertEquals("Unknown state: UNKNOWN_STATE", exp.getMessage());
     }
 
@@ -191,7 +198,7 @@ public class BookingServiceTest {
                 LocalDateTime.of(2031, 12, 26, 12, 0, 0));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "ALL");
+        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "ALL", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -214,7 +221,7 @@ public class BookingServiceTest {
                 LocalDateTime.now().plusYears(1));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "CURRENT");
+        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "CURRENT", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -239,7 +246,7 @@ public class BookingServiceTest {
         bookingService.updateStatus(bookingDto1.getId(), true, ownerDto.getId());
         bookingService.updateStatus(bookingDto2.getId(), true, ownerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "PAST");
+        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "PAST", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -261,7 +268,7 @@ public class BookingServiceTest {
                 LocalDateTime.now().plusYears(1));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "FUTURE");
+        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "FUTURE", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -283,7 +290,7 @@ public class BookingServiceTest {
                 LocalDateTime.of(2031, 12, 26, 12, 0, 0));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "WAITING");
+        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "WAITING", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -305,7 +312,7 @@ public class BookingServiceTest {
                 LocalDateTime.of(2031, 12, 26, 12, 0, 0));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "REJECTED");
+        List<BookingDto> listBookings = bookingService.getAllBookingByUserId(bookerDto.getId(), "REJECTED", null, null);
         assertEquals(0, listBookings.size());
     }
 
@@ -327,7 +334,7 @@ public class BookingServiceTest {
                 LocalDateTime.of(2031, 12, 26, 12, 0, 0));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "ALL");
+        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "ALL", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -343,8 +350,10 @@ public class BookingServiceTest {
                 LocalDateTime.now().plusDays(5));
         BookingDto bookingDto = bookingService.create(bookingInDto, bookerDto.getId());
 
+        ItemDto otherItemDto = itemService.create(new ItemDto(null, "item2", "description2", true, null),
+                ownerDto.getId());
         BookingInDto bookingInDto1 = new BookingInDto(
-                itemDto.getId(),
+                otherItemDto.getId(),
                 LocalDateTime.now().minusMonths(1),
                 LocalDateTime.now().plusMinutes(50));
         BookingDto bookingDto1 = bookingService.create(bookingInDto1, bookerDto.getId());
@@ -352,7 +361,7 @@ public class BookingServiceTest {
         bookingService.updateStatus(bookingDto.getId(), true, ownerDto.getId());
         bookingService.updateStatus(bookingDto1.getId(), true, ownerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "CURRENT");
+        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "CURRENT", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -371,13 +380,13 @@ public class BookingServiceTest {
         BookingInDto bookingInDto1 = new BookingInDto(
                 itemDto.getId(),
                 LocalDateTime.now().minusMonths(1),
-                LocalDateTime.now().minusDays(1));
+                LocalDateTime.now().minusDays(11));
         BookingDto bookingDto1 = bookingService.create(bookingInDto1, bookerDto.getId());
 
         bookingService.updateStatus(bookingDto.getId(), true, ownerDto.getId());
         bookingService.updateStatus(bookingDto1.getId(), true, ownerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "PAST");
+        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "PAST", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -399,7 +408,7 @@ public class BookingServiceTest {
                 LocalDateTime.now().plusMonths(10));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "FUTURE");
+        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "FUTURE", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -421,7 +430,7 @@ public class BookingServiceTest {
                 LocalDateTime.of(2031, 12, 26, 12, 0, 0));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "WAITING");
+        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "WAITING", null, null);
         assertEquals(2, listBookings.size());
     }
 
@@ -444,7 +453,7 @@ public class BookingServiceTest {
                 LocalDateTime.of(2031, 12, 26, 12, 0, 0));
         bookingService.create(bookingInDto1, bookerDto.getId());
 
-        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "REJECTED");
+        List<BookingDto> listBookings = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "REJECTED", null, null);
         assertEquals(0, listBookings.size());
     }
 
@@ -466,4 +475,145 @@ public class BookingServiceTest {
         assertEquals(String.format("Вещь с id = %d недоступна для бронирования!", itemDto.getId()), exp.getMessage());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReturnNextPageAfterCursorWhenGetAllBookingsForUserItems() {
+        UserDto ownerDto = userService.create(user1);
+        UserDto bookerDto = userService.create(user2);
+        ItemDto itemDto = itemService.create(itemDto1, ownerDto.getId());
+
+        BookingDto firstBooking = bookingService.create(new BookingInDto(itemDto.getId(),
+                LocalDateTime.of(2030, 12, 25, 12, 0, 0), LocalDateTime.of(2030, 12, 26, 12, 0, 0)),
+                bookerDto.getId());
+        BookingDto secondBooking = bookingService.create(new BookingInDto(itemDto.getId(),
+                LocalDateTime.of(2031, 12, 25, 12, 0, 0), LocalDateTime.of(2031, 12, 26, 12, 0, 0)),
+                bookerDto.getId());
+        BookingDto thirdBooking = bookingService.create(new BookingInDto(itemDto.getId(),
+                LocalDateTime.of(2032, 12, 25, 12, 0, 0), LocalDateTime.of(2032, 12, 26, 12, 0, 0)),
+                bookerDto.getId());
+
+        List<BookingDto> firstPage = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "ALL", null, 2);
+        List<BookingDto> secondPage = bookingService.getAllBookingsForUserItems(ownerDto.getId(), "ALL",
+                firstPage.get(1).getId(), 2);
+
+        assertEquals(List.of(thirdBooking.getId(), secondBooking.getId()),
+                List.of(firstPage.get(0).getId(), firstPage.get(1).getId()));
+        assertEquals(1, secondPage.size());
+        assertEquals(firstBooking.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void shouldExceptionWhenGetAllBookingByUserIdWithUnknownCursor() {
+        UserDto bookerDto = userService.create(user2);
+
+        ValidationException exp = assertThrows(ValidationException.class,
+                () -> bookingService.getAllBookingByUserId(bookerDto.getId(), "ALL", 999L, 10));
+        assertEquals("Бронирование для курсора cursor = 999 не найдено!", exp.getMessage());
+    }
+
+    @Test
+    void shouldExceptionWhenCursorIsBookingOfAnotherListing() {
+        UserDto ownerDto = userService.create(user1);
+        UserDto bookerDto = userService.create(user2);
+        UserDto otherDto = userService.create(user3);
+        ItemDto itemDto = itemService.create(itemDto1, ownerDto.getId());
+        BookingDto booking = bookingService.create(new BookingInDto(itemDto.getId(),
+                LocalDateTime.of(2030, 12, 25, 12, 0, 0), LocalDateTime.of(2030, 12, 26, 12, 0, 0)),
+                bookerDto.getId());
+        String error = String.format("Бронирование для курсора cursor = %d не найдено!", booking.getId());
+
+        ValidationException exp = assertThrows(ValidationException.class,
+                () -> bookingService.getAllBookingByUserId(otherDto.getId(), "ALL", booking.getId(), 10));
+        assertEquals(error, exp.getMessage());
+        exp = assertThrows(ValidationException.class,
+                () -> bookingService.getAllBookingByUserId(ownerDto.getId(), "ALL", booking.getId(), 10));
+        assertEquals(error, exp.getMessage());
+        exp = assertThrows(ValidationException.class,
+                () -> bookingService.getAllBookingsForUserItems(bookerDto.getId(), "ALL", booking.getId(), 10));
+        assertEquals(error, exp.getMessage());
+        assertEquals(0, bookingService.getAllBookingByUserId(bookerDto.getId(), "ALL", booking.getId(), 10).size());
+        assertEquals(0, bookingService.getAllBookingsForUserItems(ownerDto.getId(), "ALL", booking.getId(), 10)
+                .size());
+    }
+
+    @Test
+    void shouldCreateValidEntriesAndReportOthersWhenCreateAll() {
+        UserDto ownerDto = userService.create(user1);
+        UserDto bookerDto = userService.create(user2);
+        ItemDto itemDto = itemService.create(itemDto1, ownerDto.getId());
+        ItemDto unavailableDto = itemService.create(new ItemDto(null, "item2", "description2", false, null),
+                ownerDto.getId());
+        LocalDateTime start = LocalDateTime.of(2030, 12, 1, 12, 0, 0);
+        BookingDto approved = bookingService.create(new BookingInDto(itemDto.getId(), start, start.plusDays(1)),
+                bookerDto.getId());
+        bookingService.updateStatus(approved.getId(), true, ownerDto.getId());
+
+        List<BookingBatchResultDto> results = bookingService.createAll(Arrays.asList(
+                new BookingInDto(itemDto.getId(), start.plusDays(2), start.plusDays(3)),
+                new BookingInDto(9999L, start.plusDays(2), start.plusDays(3)),
+                new BookingInDto(itemDto.getId(), start.plusHours(12), start.plusDays(2)),
+                new BookingInDto(itemDto.getId(), start.plusDays(3), start.plusDays(2)),
+                new BookingInDto(itemDto.getId(), null, start.plusDays(2)),
+                new BookingInDto(unavailableDto.getId(), start.plusDays(2), start.plusDays(3)),
+                null,
+                new BookingInDto(itemDto.getId(), start.plusDays(1), start.plusDays(2))), bookerDto.getId());
+
+        assertEquals(List.of(200, 404, 400, 400, 400, 400, 400, 200), statuses(results));
+        assertEquals("Не указана дата и время начала бронирования (start)!", results.get(4).getError());
+        for (BookingBatchResultDto result : List.of(results.get(0), results.get(7))) {
+            assertNotNull(result.getBooking().getId());
+            assertEquals(Status.WAITING, result.getBooking().getStatus());
+            assertEquals(result.getBooking(), bookingService.get(result.getBooking().getId(), bookerDto.getId()));
+        }
+    }
+
+    @Test
+    void shouldApplyDecisionsInOrderWhenUpdateStatuses() {
+        UserDto ownerDto = userService.create(user1);
+        UserDto bookerDto = userService.create(user2);
+        UserDto otherDto = userService.create(user3);
+        ItemDto itemDto = itemService.create(itemDto1, ownerDto.getId());
+        LocalDateTime start = LocalDateTime.of(2030, 12, 1, 12, 0, 0);
+        List<Long> ids = bookingService.createAll(List.of(
+                        new BookingInDto(itemDto.getId(), start, start.plusDays(1)),
+                        new BookingInDto(itemDto.getId(), start.plusHours(12), start.plusDays(2)),
+                        new BookingInDto(itemDto.getId(), start.plusDays(4), start.plusDays(5))), bookerDto.getId())
+                .stream()
+                .map(result -> result.getBooking().getId())
+                .collect(Collectors.toList());
+
+        List<BookingBatchResultDto> results = bookingService.updateStatuses(Arrays.asList(
+                new BookingApprovalDto(ids.get(0), true),
+                new BookingApprovalDto(ids.get(1), true),
+                new BookingApprovalDto(ids.get(2), false),
+                new BookingApprovalDto(ids.get(2), true),
+                new BookingApprovalDto(9999L, true),
+                new BookingApprovalDto(null, true)), ownerDto.getId());
+        List<BookingBatchResultDto> otherResults = bookingService.updateStatuses(
+                List.of(new BookingApprovalDto(ids.get(1), false)), otherDto.getId());
+
+        assertEquals(List.of(200, 400, 200, 400, 404, 400), statuses(results));
+        assertEquals(Status.APPROVED, results.get(0).getBooking().getStatus());
+        assertEquals(Status.REJECTED, results.get(2).getBooking().getStatus());
+        assertEquals(List.of(403), statuses(otherResults));
+        assertEquals(Status.APPROVED, bookingService.get(ids.get(0), bookerDto.getId()).getStatus());
+        assertEquals(Status.WAITING, bookingService.get(ids.get(1), bookerDto.getId()).getStatus());
+        assertEquals(Status.REJECTED, bookingService.get(ids.get(2), bookerDto.getId()).getStatus());
+    }
+
+    @Test
+    void shouldExceptionWhenBatchIsEmptyOrTooLarge() {
+        UserDto bookerDto = userService.create(user2);
+        List<BookingInDto> tooLarge = new ArrayList<>(Collections.nCopies(101, new BookingInDto(1L,
+                LocalDateTime.of(2030, 12, 25, 12, 0, 0), LocalDateTime.of(2030, 12, 26, 12, 0, 0))));
+
+        assertThrows(ValidationException.class, () -> bookingService.createAll(List.of(), bookerDto.getId()));
+        assertThrows(ValidationException.class, () -> bookingService.createAll(tooLarge, bookerDto.getId()));
+        assertThrows(ValidationException.class, () -> bookingService.updateStatuses(List.of(), bookerDto.getId()));
+    }
+
+    private List<Integer> statuses(List<BookingBatchResultDto> results) {
+        return results.stream()
+                .map(BookingBatchResultDto::getStatus)
+                .collect(Collectors.toList());
+    }
+}
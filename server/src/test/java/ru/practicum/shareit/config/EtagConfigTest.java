@@ -0,0 +1,57 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EtagConfigTest {
+
+    private final MockMvc mvc;
+    private final UserService userService;
+
+    @Test
+    void shouldAnswerNotModifiedForMatchingEtag() throws Exception {
+        UserDto user = userService.create(new User(null, "etag", "etag@user.ru"));
+
+        String etag = mvc.perform(get("/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mvc.perform(get("/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldChangeEtagWhenResourceChanges() throws Exception {
+        UserDto user = userService.create(new User(null, "etag", "etag@user.ru"));
+        String etag = mvc.perform(get("/users/{id}", user.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        userService.update(new User(null, "renamed", null), user.getId());
+
+        String changedEtag = mvc.perform(get("/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changedEtag);
+    }
+}
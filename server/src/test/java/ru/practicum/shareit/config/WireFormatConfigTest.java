@@ -0,0 +1,86 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingInDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class WireFormatConfigTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final MockMvc mvc;
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void shouldAcceptSmileBodyAndAnswerWithJson() throws Exception {
+        byte[] body = smileMapper().writeValueAsBytes(new UserDto(null, "smile", "smile@user.ru"));
+
+        mvc.perform(post("/users")
+                        .contentType(SMILE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.name").value("smile"))
+                .andExpect(jsonPath("$.email").value("smile@user.ru"));
+    }
+
+    @Test
+    void shouldReadDatesOfSmileBodyLikeJson() throws Exception {
+        UserDto owner = userService.create(new User(null, "owner", "owner@user.ru"));
+        UserDto booker = userService.create(new User(null, "booker", "booker@user.ru"));
+        ItemDto item = itemService.create(new ItemDto(null, "drill", "cordless drill", true, null), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        byte[] body = smileMapper().writeValueAsBytes(new BookingInDto(item.getId(), start, start.plusDays(1)));
+
+        mvc.perform(post("/bookings")
+                        .contentType(SMILE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.start").value(start.toString()))
+                .andExpect(jsonPath("$.end").value(start.plusDays(1).toString()));
+    }
+
+    @Test
+    void shouldAnswerWithJsonWhenAnyTypeIsAccepted() throws Exception {
+        mvc.perform(get("/users").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private ObjectMapper smileMapper() {
+        // the way the gateway writes its request bodies
+        return objectMapperBuilder.factory(new SmileFactory()).build();
+    }
+}
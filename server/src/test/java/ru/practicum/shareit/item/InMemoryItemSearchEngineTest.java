@@ -0,0 +1,182 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    @Mock
+    private BookingRepository mockBookingRepository;
+
+    private final Map<Long, Item> storage = new LinkedHashMap<>();
+    private final PageRequest unpaged = PageRequest.of(0, Integer.MAX_VALUE);
+
+    private InMemoryItemSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        save(new Item(1L, "Дрель", "Простая дрель", true, null, null, null));
+        save(new Item(2L, "Отвертка", "Аккумуляторная отвертка", true, null, null, null));
+        save(new Item(3L, "Дрель ударная", "Без аккумулятора", false, null, null, null));
+
+        when(mockItemRepository.findByIdGreaterThanOrderById(anyLong(), any()))
+                .thenReturn(new ArrayList<>(storage.values()));
+        lenient().when(mockItemRepository.findAllById(any()))
+                .thenAnswer(invocation -> StreamSupport.stream(((Iterable<Long>) invocation.getArgument(0))
+                                .spliterator(), false)
+                        .map(storage::get)
+                        .collect(Collectors.toList()));
+
+        searchEngine = new InMemoryItemSearchEngine(mockItemRepository, mockBookingRepository);
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void shouldFindAvailableItemsByNameOrDescriptionIgnoringCase() {
+        assertThat(ids(searchEngine.search("дРЕль", unpaged))).containsExactly(1L);
+        assertThat(ids(searchEngine.search("аккумулятор", unpaged))).containsExactly(2L);
+    }
+
+    @Test
+    void shouldFindItemsByQueryShorterThanTrigram() {
+        assertThat(ids(searchEngine.search("др", unpaged))).containsExactly(1L);
+    }
+
+    @Test
+    void shouldReturnEmptyListWhenTrigramIsUnknown() {
+        assertThat(searchEngine.search("пылесос", unpaged)).isEmpty();
+    }
+
+    @Test
+    void shouldReflectUpdatedItemWhenIndexed() {
+        Item updated = save(new Item(1L, "Перфоратор", "Тяжелый", true, null, null, null));
+        searchEngine.index(updated);
+        Item enabled = save(new Item(3L, "Дрель ударная", "Без аккумулятора", true, null, null, null));
+        searchEngine.index(enabled);
+
+        assertThat(ids(searchEngine.search("перфо", unpaged))).containsExactly(1L);
+        assertThat(ids(searchEngine.search("дрель", unpaged))).containsExactly(3L);
+    }
+
+    @Test
+    void shouldRankNameMatchesAboveDescriptionMatchesAndReturnRequestedPage() {
+        searchEngine.index(save(new Item(4L, "Чехол", "Для дрели", true, null, null, null)));
+        searchEngine.index(save(new Item(5L, "Дрель-шуруповерт", "Компактная", true, null, null, null)));
+
+        assertThat(ids(searchEngine.search("дрел", unpaged))).containsExactly(1L, 5L, 4L);
+        assertThat(ids(searchEngine.search("дрел", PageRequest.of(0, 2)))).containsExactly(1L, 5L);
+        assertThat(ids(searchEngine.search("дрел", PageRequest.of(1, 2)))).containsExactly(4L);
+    }
+
+    @Test
+    void shouldIgnoreCaseRegardlessOfDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        // the Turkish locale lowercases I to the dotless ı, SQL upper() does not depend on it
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            searchEngine.index(save(new Item(4L, "Kit", "Set", true, null, null, null)));
+
+            assertThat(ids(searchEngine.search("KIT", unpaged))).containsExactly(4L);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void shouldReturnSameItemsAsSubstringSearch() {
+        Random random = new Random(42);
+        String alphabet = "абвгд ";
+        for (long id = 10; id < 500; id++) {
+            Item item = save(new Item(id, randomText(random, alphabet, 12), randomText(random, alphabet, 30),
+                    random.nextInt(4) != 0, null, null, null));
+            searchEngine.index(item);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String text = randomText(random, alphabet, 1 + random.nextInt(5));
+            List<Long> expected = storage.values().stream()
+                    .filter(Item::getAvailable)
+                    .filter(item -> item.getName().toLowerCase().contains(text)
+                            || item.getDescription().toLowerCase().contains(text))
+                    .sorted(Comparator.comparing((Item item) -> !item.getName().toLowerCase().contains(text))
+                            .thenComparing(Item::getId))
+                    .map(Item::getId)
+                    .collect(Collectors.toList());
+
+            assertThat(ids(searchEngine.search(text, unpaged))).as(text).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldSkipBookedItemsBeforePaging() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+        LocalDateTime end = start.plusDays(1);
+        for (long id = 10; id < 60; id++) {
+            searchEngine.index(save(new Item(id, "Дрель " + id, "Обычная", true, null, null, null)));
+        }
+        // the best thirty one matches are booked, so the page is found only in the fourth window
+        Set<Long> booked = LongStream.range(10, 40).boxed().collect(Collectors.toSet());
+        booked.add(1L);
+        when(mockBookingRepository.findApprovedItemIdsBetween(any(), eq(start), eq(end)))
+                .thenAnswer(invocation -> ((List<Long>) invocation.getArgument(0)).stream()
+                        .filter(booked::contains)
+                        .collect(Collectors.toList()));
+
+        assertThat(ids(searchEngine.search("дрель", start, end, PageRequest.of(0, 5))))
+                .containsExactly(40L, 41L, 42L, 43L, 44L);
+        assertThat(ids(searchEngine.search("дрель", start, end, PageRequest.of(3, 5))))
+                .containsExactly(55L, 56L, 57L, 58L, 59L);
+        assertThat(ids(searchEngine.search("дрель", start, end, PageRequest.of(4, 5)))).isEmpty();
+    }
+
+    private Item save(Item item) {
+        storage.put(item.getId(), item);
+        return item;
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private String randomText(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -9,7 +9,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -126,7 +128,7 @@ public class ItemControllerTest {
 
     @Test
     void searchItem() throws Exception {
-        when(itemService.search(any(String.class)))
+        when(itemService.search(any(String.class), any(), any(), any(), any()))
                 .thenReturn(List.of(itemDto));
 
         mvc.perform(get("/items/search?text=description")
@@ -142,6 +144,23 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.[0].available", is(itemDto.getAvailable())));
     }
 
+    @Test
+    void searchItemForPeriod() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 10, 0, 0);
+        when(itemService.search("drill", start, start.plusHours(8), null, null))
+                .thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("start", "2030-01-05T10:00:00")
+                        .param("end", "2030-01-05T18:00:00")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$.[0].id", is(itemDto.getId()), Long.class));
+    }
+
     @Test
     void addComment() throws Exception {
         when(itemService.addComment(any(), any(Long.class), any(Long.class)))
@@ -160,4 +179,34 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.created",
                         is(commentDto.getCreated().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+        LocalDateTime busyStart = from.plusDays(1);
+        LocalDateTime to = from.plusDays(3);
+        when(itemService.getAvailability(1L, 1L, from, to))
+                .thenReturn(new ItemAvailabilityDto(1L, from, to,
+                        List.of(new PeriodDto(from, busyStart), new PeriodDto(busyStart.plusDays(1), to)),
+                        List.of(new PeriodDto(busyStart, busyStart.plusDays(1)))));
+
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-04T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1L), Long.class))
+                .andExpect(jsonPath("$.free.length()", is(2)))
+                .andExpect(jsonPath("$.busy[0].start", is("2030-01-02T00:00:00")))
+                .andExpect(jsonPath("$.busy[0].end", is("2030-01-03T00:00:00")));
+    }
+
+    @Test
+    void getAvailabilityWithoutPeriod() throws Exception {
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .header(USER_ID_HEADER, 1))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -4,11 +4,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.Rollback;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,12 +25,19 @@ public class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
     private Item item1;
     private Item item2;
 
     @BeforeEach
     public void setUp() {
-        User owner = new User(1L, "name", "loh@mail.ru");
+        owner = userRepository.save(new User(null, "name", "loh@mail.ru"));
         item1 = new Item();
         item1.setId(1L);
         item1.setName("Test Item 1");
@@ -39,15 +52,54 @@ public class ItemRepositoryTest {
         item2.setAvailable(false);
         item2.setOwner(owner);
 
-        itemRepository.save(item1);
-        itemRepository.save(item2);
+        item1 = itemRepository.save(item1);
+        item2 = itemRepository.save(item2);
     }
 
     @Test
     @Rollback
     public void testSearchUnavailableItems() {
-        List<Item> items = itemRepository.search("Description for item 2");
+        List<Item> items = itemRepository.search("Description for item 2", PageRequest.of(0, 10));
 
         assertThat(items).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @Rollback
+    public void testSearchByTrigramMatchesWildcardsLiterally() {
+        Item discount = new Item();
+        discount.setName("Скидка 50% на дрель_ударную \\ весь день");
+        discount.setDescription("Акция");
+        discount.setAvailable(true);
+        discount.setOwner(owner);
+        discount = itemRepository.save(discount);
+        item1.setName("Скидка 5000 на дрель ударную");
+
+        assertThat(itemRepository.searchByTrigram("50\\%", PageRequest.of(0, 10)))
+                .extracting(Item::getId).containsExactly(discount.getId());
+        assertThat(itemRepository.searchByTrigram("ДРЕЛЬ\\_", PageRequest.of(0, 10)))
+                .extracting(Item::getId).containsExactly(discount.getId());
+        assertThat(itemRepository.searchByTrigram("\\\\", PageRequest.of(0, 10)))
+                .extracting(Item::getId).containsExactly(discount.getId());
+        assertThat(itemRepository.searchNotBookedBetweenByTrigram("50\\%", LocalDateTime.of(2030, 1, 1, 0, 0, 0),
+                LocalDateTime.of(2030, 1, 2, 0, 0, 0), PageRequest.of(0, 10)))
+                .extracting(Item::getId).containsExactly(discount.getId());
+    }
+
+    @Test
+    @Rollback
+    public void testSearchNotBookedBetweenSkipsApprovedBookings() {
+        item2.setAvailable(true);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+        bookingRepository.save(new Booking(null, start, start.plusDays(1), item1, owner, Status.APPROVED));
+        bookingRepository.save(new Booking(null, start, start.plusDays(1), item2, owner, Status.WAITING));
+
+        List<Item> items = itemRepository.searchNotBookedBetween("description", start.plusHours(12),
+                start.plusDays(2), PageRequest.of(0, 10));
+        List<Item> laterItems = itemRepository.searchNotBookedBetween("description", start.plusDays(1),
+                start.plusDays(2), PageRequest.of(0, 10));
+
+        assertThat(items).extracting(Item::getId).containsExactly(item2.getId());
+        assertThat(laterItems).extracting(Item::getId).containsExactly(item1.getId(), item2.getId());
+    }
+}
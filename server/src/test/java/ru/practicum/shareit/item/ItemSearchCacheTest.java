@@ -0,0 +1,175 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchCacheTest {
+
+    private final PageRequest page = PageRequest.of(0, 10);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache itemSearchCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemSearchCache = new ItemSearchCache(100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void shouldReturnCachedPageForSameTextInAnyCase() {
+        search("Drill");
+        search("dRILL");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCacheDifferentPagesSeparately() {
+        itemSearchCache.get("drill", PageRequest.of(0, 10), this::load);
+        itemSearchCache.get("drill", PageRequest.of(1, 10), this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictOnlyTextsContainedInOldOrNewItemFields() {
+        Item item = new Item(1L, "Drill", "cordless", true, null, null, null);
+        search("drill");
+        search("hammer");
+        search("cord");
+        search("saw");
+
+        ItemSearchCache.ItemState previous = new ItemSearchCache.ItemState(item);
+        item.setName("Hammer");
+        itemSearchCache.invalidate(previous, item);
+        loads.set(0);
+        search("drill");
+        search("hammer");
+        search("cord");
+        search("saw");
+
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepCacheWhenSearchableFieldsAreNotChanged() {
+        Item item = new Item(1L, "Drill", "cordless", true, null, null, null);
+        search("drill");
+
+        itemSearchCache.invalidate(new ItemSearchCache.ItemState(item), item);
+        search("drill");
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictWhenAvailabilityChanged() {
+        Item item = new Item(1L, "Drill", "cordless", true, null, null, null);
+        search("drill");
+
+        ItemSearchCache.ItemState previous = new ItemSearchCache.ItemState(item);
+        item.setAvailable(false);
+        itemSearchCache.invalidate(previous, item);
+        search("drill");
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictPagesRegardlessOfDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            Item item = new Item(1L, "DRILL", "CORDLESS", true, null, null, null);
+            search("drill");
+
+            ItemSearchCache.ItemState previous = new ItemSearchCache.ItemState(item);
+            item.setAvailable(false);
+            // DRILL lowercases to drıll in the Turkish locale and would not contain the cached text
+            itemSearchCache.invalidate(previous, item);
+            search("drill");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictAllPagesWhenUserIsDeleted() {
+        search("drill");
+        search("saw");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // the cascade of the deleted user removes items of any text
+            itemSearchCache.invalidateAll();
+            search("drill");
+            search("saw");
+            // pages loaded before the commit may still show the deleted items
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        search("drill");
+        search("saw");
+
+        assertThat(loads.get()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldEvictAllPagesWhenUserIsRenamed() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.getReferenceById(1L)).thenReturn(new User(1L, "author", "author@user.ru"));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UserServiceImpl userService = new UserServiceImpl(userRepository, new UserMapperImpl(), null,
+                itemSearchCache);
+        search("drill");
+
+        // comments on the cached pages show the author name, the email is not there
+        userService.update(new User(null, null, "new@user.ru"), 1L);
+        search("drill");
+        userService.update(new User(null, "author", null), 1L);
+        search("drill");
+        userService.update(new User(null, "new author", null), 1L);
+        search("drill");
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private void search(String text) {
+        itemSearchCache.get(text, page, this::load);
+    }
+
+    private List<ItemDto> load() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+}
@@ -31,7 +31,7 @@ public class ItemServiceImplTest {
     @Test
     void shouldExceptionWhenEditNotExistingItem() {
         ItemService itemService = new ItemServiceImpl(mockItemRepository, mockUserRepository, null,
-                null, null, null, null);
+                null, null, null, null, null, null, null);
 
         when(mockUserRepository.existsById(any(Long.class)))
                 .thenReturn(true);
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemServiceQueryCountTest {
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UserDto ownerDto;
+    private UserDto bookerDto;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ownerDto = userService.create(new User(null, "owner", "owner@count.ru"));
+        bookerDto = userService.create(new User(null, "booker", "booker@count.ru"));
+    }
+
+    @Test
+    void shouldNotDependOnItemsCountWhenGetAll() {
+        addItems(2);
+        long smallOwnerQueries = countGetAllQueries();
+
+        addItems(20);
+        long bigOwnerQueries = countGetAllQueries();
+
+        assertEquals(smallOwnerQueries, bigOwnerQueries);
+    }
+
+    @Test
+    void shouldReturnLastAndNextBookingsAndCommentsWhenGetAll() {
+        addItems(3);
+
+        List<ItemDto> items = itemService.getAll(ownerDto.getId());
+
+        assertEquals(3, items.size());
+        for (ItemDto itemDto : items) {
+            assertNotNull(itemDto.getLastBooking());
+            assertNotNull(itemDto.getNextBooking());
+            assertEquals(bookerDto.getId(), itemDto.getLastBooking().getBookerId());
+            assertEquals(1, itemDto.getComments().size());
+        }
+    }
+
+    private long countGetAllQueries() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        itemService.getAll(ownerDto.getId());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addItems(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            ItemDto itemDto = itemService.create(new ItemDto(null, "item" + i, "description" + i, true, null),
+                    ownerDto.getId());
+
+            approve(new BookingInDto(itemDto.getId(), now.minusDays(3), now.minusDays(2)));
+            approve(new BookingInDto(itemDto.getId(), now.minusDays(2), now.minusDays(1)));
+            approve(new BookingInDto(itemDto.getId(), now.plusDays(1), now.plusDays(2)));
+            approve(new BookingInDto(itemDto.getId(), now.plusDays(2), now.plusDays(3)));
+
+            itemService.addComment(new CommentDto(null, "comment" + i, null, null), itemDto.getId(),
+                    bookerDto.getId());
+        }
+    }
+
+    private void approve(BookingInDto bookingInDto) {
+        BookingDto bookingDto = bookingService.create(bookingInDto, bookerDto.getId());
+        bookingService.updateStatus(bookingDto.getId(), true, ownerDto.getId());
+    }
+}
@@ -9,9 +9,12 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.OwnerValidationException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.exception.WasNotOwnerException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -19,6 +22,7 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static java.lang.Thread.sleep;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -81,6 +85,37 @@ public class ItemServiceTest {
                 exp.getMessage());
     }
 
+    @Test
+    void shouldReturnNearestApprovedBookingsWhenOwnerGetsItem() {
+        UserDto ownerDto = userService.create(user1);
+        UserDto bookerDto = userService.create(user2);
+        ItemDto itemDto = itemService.create(itemDto1, ownerDto.getId());
+        LocalDateTime now = LocalDateTime.now();
+
+        BookingDto oldBooking = bookingService.create(new BookingInDto(itemDto.getId(), now.minusDays(5),
+                now.minusDays(4)), bookerDto.getId());
+        BookingDto lastBooking = bookingService.create(new BookingInDto(itemDto.getId(), now.minusDays(2),
+                now.minusDays(1)), bookerDto.getId());
+        BookingDto nextBooking = bookingService.create(new BookingInDto(itemDto.getId(), now.plusDays(1),
+                now.plusDays(2)), bookerDto.getId());
+        BookingDto laterBooking = bookingService.create(new BookingInDto(itemDto.getId(), now.plusDays(3),
+                now.plusDays(4)), bookerDto.getId());
+        BookingDto waitingBooking = bookingService.create(new BookingInDto(itemDto.getId(), now.minusHours(2),
+                now.minusHours(1)), bookerDto.getId());
+        for (BookingDto bookingDto : List.of(oldBooking, lastBooking, nextBooking, laterBooking)) {
+            bookingService.updateStatus(bookingDto.getId(), true, ownerDto.getId());
+        }
+
+        ItemDto ownerItemDto = itemService.get(itemDto.getId(), ownerDto.getId());
+        ItemDto bookerItemDto = itemService.get(itemDto.getId(), bookerDto.getId());
+
+        assertEquals(lastBooking.getId(), ownerItemDto.getLastBooking().getId());
+        assertEquals(nextBooking.getId(), ownerItemDto.getNextBooking().getId());
+        assertNotEquals(waitingBooking.getId(), ownerItemDto.getLastBooking().getId());
+        assertNull(bookerItemDto.getLastBooking());
+        assertNull(bookerItemDto.getNextBooking());
+    }
+
     @Test
     void shouldReturnItemsByOwner() {
         UserDto ownerDto = userService.create(user1);
@@ -97,17 +132,60 @@ public class ItemServiceTest {
         itemService.create(itemDto1, ownerDto.getId());
         itemService.create(itemDto2, ownerDto.getId());
 
-        List<ItemDto> listItems = itemService.search("item");
+        List<ItemDto> listItems = itemService.search("item", null, null, null, null);
         assertEquals(2, listItems.size());
     }
 
+    @Test
+    void shouldRankNameMatchesFirstAndReturnRequestedPageWhenSearch() {
+        UserDto ownerDto = userService.create(user1);
+        ItemDto descriptionMatch = itemService.create(new ItemDto(null, "case", "for drill", true, null),
+                ownerDto.getId());
+        ItemDto nameMatch = itemService.create(new ItemDto(null, "Drill", "cordless", true, null),
+                ownerDto.getId());
+
+        List<ItemDto> firstPage = itemService.search("drill", null, null, 0, 1);
+        List<ItemDto> secondPage = itemService.search("drill", null, null, 1, 1);
+
+        assertEquals(1, firstPage.size());
+        assertEquals(nameMatch.getId(), firstPage.get(0).getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(descriptionMatch.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void shouldReturnUpdatedItemWhenSearchAfterUpdate() {
+        UserDto ownerDto = userService.create(user1);
+        ItemDto itemDto = itemService.create(new ItemDto(null, "saw", "sharp", true, null), ownerDto.getId());
+        assertEquals(1, itemService.search("saw", null, null, null, null).size());
+
+        itemService.update(new ItemDto(null, "jigsaw", null, false, null), itemDto.getId(), ownerDto.getId());
+        assertEquals(0, itemService.search("saw", null, null, null, null).size());
+
+        itemService.update(new ItemDto(null, null, null, true, null), itemDto.getId(), ownerDto.getId());
+        List<ItemDto> items = itemService.search("saw", null, null, null, null);
+        assertEquals(1, items.size());
+        assertEquals("jigsaw", items.get(0).getName());
+    }
+
+    @Test
+    void shouldLimitSearchResultsByMaxSize() {
+        UserDto ownerDto = userService.create(user1);
+        for (int i = 0; i < 105; i++) {
+            itemService.create(new ItemDto(null, "hammer" + i, "description", true, null), ownerDto.getId());
+        }
+
+        assertEquals(100, itemService.search("hammer", null, null, null, null).size());
+        assertEquals(100, itemService.search("hammer", null, null, 0, 1000).size());
+    }
+
     @Test
     void shouldReturnEmptyListWhenSearchByEmptyString() {
         UserDto ownerDto = userService.create(user1);
         itemService.create(itemDto1, ownerDto.getId());
         itemService.create(itemDto2, ownerDto.getId());
 
-        List<ItemDto> listItems = itemService.search("");
+        List<ItemDto> listItems = itemService.search("", null, null, null, null);
         assertEquals(0, listItems.size());
     }
 
@@ -148,4 +226,100 @@ public class ItemServiceTest {
 
         assertEquals(1, itemService.getAll(ownerDto.getId()).get(0).getComments().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnFreeAndBusyPeriodsOfItem() {
+        UserDto ownerDto = userService.create(user1);
+        UserDto bookerDto = userService.create(user2);
+        ItemDto itemDto = itemService.create(itemDto1, ownerDto.getId());
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+
+        bookingService.create(new BookingInDto(itemDto.getId(), from.plusDays(1), from.plusDays(2)),
+                bookerDto.getId());
+        BookingDto adjacent = bookingService.create(new BookingInDto(itemDto.getId(), from.plusDays(2),
+                from.plusDays(3)), bookerDto.getId());
+        bookingService.updateStatus(adjacent.getId(), true, ownerDto.getId());
+        bookingService.create(new BookingInDto(itemDto.getId(), from.plusDays(5), from.plusDays(6)),
+                bookerDto.getId());
+
+        ItemAvailabilityDto availability = itemService.getAvailability(itemDto.getId(), bookerDto.getId(), from,
+                from.plusDays(7));
+
+        assertEquals(List.of(new PeriodDto(from.plusDays(1), from.plusDays(3)),
+                new PeriodDto(from.plusDays(5), from.plusDays(6))), availability.getBusy());
+        assertEquals(List.of(new PeriodDto(from, from.plusDays(1)),
+                new PeriodDto(from.plusDays(3), from.plusDays(5)),
+                new PeriodDto(from.plusDays(6), from.plusDays(7))), availability.getFree());
+    }
+
+    @Test
+    void shouldUpdateAvailabilityWhenBookingsChange() {
+        UserDto ownerDto = userService.create(user1);
+        UserDto bookerDto = userService.create(user2);
+        ItemDto itemDto = itemService.create(itemDto1, ownerDto.getId());
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        BookingDto bookingDto = bookingService.create(new BookingInDto(itemDto.getId(), from.plusDays(1),
+                from.plusDays(2)), bookerDto.getId());
+        assertEquals(1, itemService.getAvailability(itemDto.getId(), bookerDto.getId(), from, to).getBusy().size());
+
+        bookingService.updateStatus(bookingDto.getId(), false, ownerDto.getId());
+        assertEquals(List.of(new PeriodDto(from, to)),
+                itemService.getAvailability(itemDto.getId(), bookerDto.getId(), from, to).getFree());
+
+        bookingService.create(new BookingInDto(itemDto.getId(), from.plusDays(4), from.plusDays(5)),
+                bookerDto.getId());
+        assertEquals(List.of(new PeriodDto(from.plusDays(4), from.plusDays(5))),
+                itemService.getAvailability(itemDto.getId(), bookerDto.getId(), from, to).getBusy());
+    }
+
+    @Test
+    void shouldExceptionWhenAvailabilityPeriodIsEmpty() {
+        UserDto ownerDto = userService.create(user1);
+        ItemDto itemDto = itemService.create(itemDto1, ownerDto.getId());
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+
+        assertThrows(ValidationException.class,
+                () -> itemService.getAvailability(itemDto.getId(), ownerDto.getId(), from, from));
+    }
+
+    @Test
+    void shouldExcludeItemsWithApprovedBookingsForPeriodWhenSearch() {
+        UserDto ownerDto = userService.create(user1);
+        UserDto bookerDto = userService.create(user2);
+        ItemDto booked = itemService.create(new ItemDto(null, "drill 1", "cordless", true, null), ownerDto.getId());
+        ItemDto waiting = itemService.create(new ItemDto(null, "drill 2", "cordless", true, null), ownerDto.getId());
+        ItemDto free = itemService.create(new ItemDto(null, "drill 3", "cordless", true, null), ownerDto.getId());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+
+        BookingDto bookingDto = bookingService.create(new BookingInDto(booked.getId(), start.minusDays(1),
+                start.plusDays(1)), bookerDto.getId());
+        bookingService.updateStatus(bookingDto.getId(), true, ownerDto.getId());
+        bookingService.create(new BookingInDto(waiting.getId(), start, start.plusDays(1)), bookerDto.getId());
+        BookingDto laterBooking = bookingService.create(new BookingInDto(free.getId(), start.plusDays(1),
+                start.plusDays(2)), bookerDto.getId());
+        bookingService.updateStatus(laterBooking.getId(), true, ownerDto.getId());
+
+        assertEquals(List.of(waiting.getId(), free.getId()), ids(itemService.search("drill", start,
+                start.plusDays(1), null, null)));
+        assertEquals(List.of(free.getId()), ids(itemService.search("drill", start, start.plusDays(1), 1, 1)));
+        assertEquals(List.of(booked.getId(), waiting.getId()), ids(itemService.search("drill", start.plusDays(1),
+                start.plusDays(2), null, null)));
+        assertEquals(3, itemService.search("drill", null, null, null, null).size());
+    }
+
+    @Test
+    void shouldExceptionWhenSearchPeriodIsIncompleteOrEmpty() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+
+        assertThrows(ValidationException.class, () -> itemService.search("drill", start, null, null, null));
+        assertThrows(ValidationException.class, () -> itemService.search("drill", null, start, null, null));
+        assertThrows(ValidationException.class, () -> itemService.search("drill", start, start, null, null));
+    }
+
+    private List<Long> ids(List<ItemDto> items) {
+        return items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+}
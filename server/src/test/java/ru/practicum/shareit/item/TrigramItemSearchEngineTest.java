@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.TrigramItemSearchEngine;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TrigramItemSearchEngineTest {
+
+    private final PageRequest page = PageRequest.of(0, 10);
+
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    @InjectMocks
+    private TrigramItemSearchEngine searchEngine;
+
+    @Test
+    void shouldEscapeLikeWildcardsAndEscapeCharacter() {
+        searchEngine.search("50%_off\\", page);
+
+        verify(mockItemRepository).searchByTrigram("50\\%\\_off\\\\", page);
+    }
+
+    @Test
+    void shouldEscapeTextWhenSearchNotBooked() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+        LocalDateTime end = start.plusDays(1);
+
+        searchEngine.search("100%", start, end, page);
+
+        verify(mockItemRepository).searchNotBookedBetweenByTrigram("100\\%", start, end, page);
+    }
+
+    @Test
+    void shouldLeaveTextWithoutWildcardsAsIs() {
+        searchEngine.search("дрель", page);
+
+        verify(mockItemRepository).searchByTrigram("дрель", page);
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.RequestService;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -28,6 +30,7 @@ public class RequestServiceTest {
 
     private final RequestService requestService;
     private final UserService userService;
+    private final ItemService itemService;
 
     private final User user1 = new User(101L, "AlexOne", "alexone@alex.ru");
     private final UserDto userDto1 = new UserDto(101L, "AlexOne", "alexone@alex.ru");
@@ -85,6 +88,30 @@ public class RequestServiceTest {
         assertThat(listItemRequest.size(), equalTo(2));
     }
 
+    @Test
+    void shouldReturnOnlyRequestedPageOfOtherUsersRequestsWithItems() {
+        UserDto userDto = userService.create(user1);
+        UserDto requesterDto = userService.create(user2);
+
+        requestService.create(itemRequestDto, userDto.getId());
+        ItemRequestDto oldRequest = requestService.create(itemRequestDto, requesterDto.getId());
+        ItemRequestDto newRequest = requestService.create(itemRequestDto, requesterDto.getId());
+        ItemDto itemDto = new ItemDto(null, "drill", "good drill", true, null);
+        itemDto.setRequestId(newRequest.getId());
+        ItemDto answerDto = itemService.create(itemDto, userDto.getId());
+
+        List<ItemRequestDto> firstPage = requestService.getAll(0, 1, userDto.getId());
+        List<ItemRequestDto> secondPage = requestService.getAll(1, 1, userDto.getId());
+
+        assertThat(firstPage.size(), equalTo(1));
+        assertThat(firstPage.get(0).getId(), equalTo(newRequest.getId()));
+        assertThat(firstPage.get(0).getItems().size(), equalTo(1));
+        assertThat(firstPage.get(0).getItems().get(0).getId(), equalTo(answerDto.getId()));
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.get(0).getId(), equalTo(oldRequest.getId()));
+        assertThat(secondPage.get(0).getItems().size(), equalTo(0));
+    }
+
     @Test
     void shouldExceptionWhenGetAllItemRequestsAndSizeIsNegative() {
         UserDto userDto = userService.create(user1);
@@ -31,7 +31,7 @@ import static org.mockito.Mockito.when;
 
         @Test
         void shouldExceptionWhenCreateUserWithExistingEmail() {
-            UserService userService = new UserServiceImpl(mockUserRepository, userMapper);
+            UserService userService = new UserServiceImpl(mockUserRepository, userMapper, null, null);
 
             User user = new User(1L, "user1", "first@user.ru");
             userService.create(user);
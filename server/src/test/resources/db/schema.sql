@@ -0,0 +1,56 @@
+CREATE TABLE IF NOT EXISTS users
+(
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name  VARCHAR(255)                            NOT NULL,
+    email VARCHAR(512)                            NOT NULL,
+    CONSTRAINT pk_user PRIMARY KEY (id),
+    CONSTRAINT uq_user_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS requests
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    description  VARCHAR(512)                            NOT NULL,
+    requester_id BIGINT                                  NOT NULL,
+    created_date TIMESTAMP                               NOT NULL,
+    CONSTRAINT pk_request PRIMARY KEY (id),
+    FOREIGN KEY (requester_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS items
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name         VARCHAR(255)                            NOT NULL,
+    description  VARCHAR(512)                            NOT NULL,
+    is_available BOOLEAN                                 NOT NULL,
+    owner_id     BIGINT                                  NOT NULL,
+    request_id   BIGINT,
+    CONSTRAINT pk_item PRIMARY KEY (id),
+    FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE,
+    FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS bookings
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    start_date TIMESTAMP                               NOT NULL,
+    end_date   TIMESTAMP                               NOT NULL,
+    item_id    BIGINT                                  NOT NULL,
+    booker_id  BIGINT                                  NOT NULL,
+    status     VARCHAR(15)                             NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (id),
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS comments
+(
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    text      TEXT                                    NOT NULL,
+    item_id   BIGINT                                  NOT NULL,
+    author_id BIGINT                                  NOT NULL,
+    created   TIMESTAMP                               NOT NULL,
+    CONSTRAINT pk_comment PRIMARY KEY (id),
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
+);
\ No newline at end of file